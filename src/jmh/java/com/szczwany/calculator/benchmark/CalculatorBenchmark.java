@@ -0,0 +1,67 @@
+package com.szczwany.calculator.benchmark;
+
+import com.szczwany.calculator.calculator.Calculator;
+import com.szczwany.calculator.calculator.CompiledExpression;
+import com.szczwany.calculator.calculator.math.ExpressionValidator;
+import com.szczwany.calculator.calculator.math.InfixToRPNConverter;
+import com.szczwany.calculator.calculator.math.Token;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CalculatorBenchmark
+{
+    @Param({ "3", "9", "33", "99" })
+    private int tokens;
+
+    @Param({ "INTEGER", "DECIMAL", "MIXED" })
+    private NumberMix numberMix;
+
+    private String expression;
+    private CompiledExpression compiledExpression;
+
+    @Setup
+    public void setUp()
+    {
+        expression = ExpressionGenerator.generate(tokens, numberMix, tokens);
+        compiledExpression = Calculator.compile(expression);
+    }
+
+    @Benchmark
+    public BigDecimal calculate()
+    {
+        return Calculator.calculate(expression);
+    }
+
+    @Benchmark
+    public List<Token> infixToRPN()
+    {
+        return new InfixToRPNConverter().infixToRPN(expression);
+    }
+
+    @Benchmark
+    public boolean validate()
+    {
+        return ExpressionValidator.isValid(expression);
+    }
+
+    @Benchmark
+    public CompiledExpression compile()
+    {
+        return Calculator.compile(expression);
+    }
+
+    @Benchmark
+    public BigDecimal evaluate()
+    {
+        return compiledExpression.evaluate();
+    }
+}
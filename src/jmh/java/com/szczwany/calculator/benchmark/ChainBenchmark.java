@@ -0,0 +1,48 @@
+package com.szczwany.calculator.benchmark;
+
+import com.szczwany.calculator.calculator.Calculator;
+import com.szczwany.calculator.calculator.CompiledExpression;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+///
+// Long chains of divisions, time per operation divided by tokens should stay flat when every node is computed once
+///
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChainBenchmark
+{
+    @Param({ "11", "101", "1001", "10001" })
+    private int tokens;
+
+    @Param({ "false", "true" })
+    private boolean beyondLong;
+
+    private String expression;
+    private CompiledExpression compiledExpression;
+
+    @Setup
+    public void setUp()
+    {
+        expression = ExpressionGenerator.generateChain(tokens, beyondLong, tokens);
+        compiledExpression = Calculator.compile(expression);
+    }
+
+    @Benchmark
+    public CompiledExpression compile()
+    {
+        return Calculator.compile(expression);
+    }
+
+    @Benchmark
+    public BigDecimal evaluate()
+    {
+        return compiledExpression.evaluate();
+    }
+}
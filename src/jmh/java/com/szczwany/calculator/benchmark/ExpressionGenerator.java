@@ -0,0 +1,72 @@
+package com.szczwany.calculator.benchmark;
+
+import java.util.Random;
+
+import static com.szczwany.calculator.utils.Globals.*;
+
+final class ExpressionGenerator
+{
+    private static final char[] OPERATORS = { PLUS_SIGN, MINUS_SIGN, MULTIPLY_SIGN, DIVIDE_SIGN };
+    private static final char[] CHAIN_OPERATORS = { DIVIDE_SIGN, PLUS_SIGN, DIVIDE_SIGN, MINUS_SIGN };
+    private static final String BEYOND_LONG = "99999999999999999999";
+
+    private ExpressionGenerator()
+    {
+    }
+
+    ///
+    // Same seed gives the same expression so every fork measures identical input, operands are never zero
+    ///
+    static String generate(int tokens, NumberMix numberMix, long seed)
+    {
+        Random random = new Random(seed);
+        StringBuilder expression = new StringBuilder(tokens * 4);
+
+        for (int i = 0; i < tokens; i++)
+        {
+            if (i % 2 == 1)
+            {
+                expression.append(OPERATORS[random.nextInt(OPERATORS.length)]);
+            }
+            else
+            {
+                expression.append(random.nextInt(999) + 1);
+
+                if (numberMix.isDecimal(random))
+                {
+                    expression.append(DOT_SIGN).append(random.nextInt(89) + 10);
+                }
+            }
+        }
+
+        return expression.toString();
+    }
+
+    ///
+    // a/b+c/d-e/f... keeps every intermediate value bounded, so the cost depends on the length only,
+    // a first operand beyond long rules out the fixed-point program
+    ///
+    static String generateChain(int tokens, boolean beyondLong, long seed)
+    {
+        Random random = new Random(seed);
+        StringBuilder expression = new StringBuilder(tokens * 4);
+
+        for (int i = 0; i < tokens; i++)
+        {
+            if (i % 2 == 1)
+            {
+                expression.append(CHAIN_OPERATORS[(i / 2) % CHAIN_OPERATORS.length]);
+            }
+            else if (i == 0 && beyondLong)
+            {
+                expression.append(BEYOND_LONG);
+            }
+            else
+            {
+                expression.append(random.nextInt(999) + 1).append(DOT_SIGN).append(random.nextInt(89) + 10);
+            }
+        }
+
+        return expression.toString();
+    }
+}
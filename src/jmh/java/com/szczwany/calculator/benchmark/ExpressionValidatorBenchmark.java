@@ -0,0 +1,63 @@
+package com.szczwany.calculator.benchmark;
+
+import com.szczwany.calculator.calculator.math.ExpressionValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+///
+// Inputs built to make a backtracking matcher blow up, valid up to the last character, time per operation divided
+// by length should stay flat
+///
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExpressionValidatorBenchmark
+{
+    public enum Shape
+    {
+        DIGITS("1", '!'),
+        DECIMALS("1.1+1", '!'),
+        REFERENCES("#1+", '#'),
+        OPERATORS("1+", '+');
+
+        private final String pattern;
+        private final char tail;
+
+        Shape(String pattern, char tail)
+        {
+            this.pattern = pattern;
+            this.tail = tail;
+        }
+    }
+
+    @Param({ "100", "10000", "1000000" })
+    private int length;
+
+    @Param({ "DIGITS", "DECIMALS", "REFERENCES", "OPERATORS" })
+    private Shape shape;
+
+    private String expression;
+
+    @Setup
+    public void setUp()
+    {
+        StringBuilder builder = new StringBuilder(length + shape.pattern.length());
+
+        while (builder.length() < length)
+        {
+            builder.append(shape.pattern);
+        }
+
+        expression = builder.append(shape.tail).toString();
+    }
+
+    @Benchmark
+    public int findError()
+    {
+        return ExpressionValidator.findError(expression);
+    }
+}
@@ -0,0 +1,187 @@
+package com.szczwany.calculator.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+///
+// Lookups against the migrated schema at 1M calculations, with the indexes removed or replaced per run
+///
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class IndexBenchmark
+{
+    private static final String URL = "jdbc:h2:mem:index-benchmark;DB_CLOSE_DELAY=-1";
+    private static final int PAGE_SIZE = 100;
+
+    @Param({ "1000" })
+    private int projects;
+
+    @Param({ "1000" })
+    private int calculationsPerProject;
+
+    ///
+    // NONE - no index on calculations, PROJECT_ID - what the generated schema had through its foreign key,
+    // MIGRATION - the composite and updated_at indexes of V1__create_schema.sql
+    ///
+    @Param({ "NONE", "PROJECT_ID", "MIGRATION" })
+    private String indexes;
+
+    private Connection connection;
+    private PreparedStatement findByProject;
+    private PreparedStatement findByProjectAndId;
+    private PreparedStatement findPageByProject;
+    private PreparedStatement findUpdatedSince;
+    private SplittableRandom random;
+    private long updatedSince;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException
+    {
+        Flyway flyway = new Flyway();
+        flyway.setDataSource(URL, "sa", "");
+        flyway.setLocations("classpath:db/migration/h2");
+        flyway.clean();
+        flyway.migrate();
+
+        connection = DriverManager.getConnection(URL, "sa", "");
+        insertRows();
+
+        try (Statement statement = connection.createStatement())
+        {
+            statement.execute("ALTER TABLE calculations DROP CONSTRAINT fk_calculations_project");
+            statement.execute("DROP INDEX idx_calculations_project_id_id");
+
+            if ("PROJECT_ID".equals(indexes))
+            {
+                statement.execute("DROP INDEX idx_calculations_updated_at");
+                statement.execute("CREATE INDEX idx_calculations_project_id ON calculations (project_id)");
+            }
+            else if ("NONE".equals(indexes))
+            {
+                statement.execute("DROP INDEX idx_calculations_updated_at");
+            }
+            else
+            {
+                statement.execute("CREATE INDEX idx_calculations_project_id_id ON calculations (project_id, id)");
+            }
+
+            statement.execute("ANALYZE");
+        }
+
+        findByProject = connection.prepareStatement("SELECT * FROM calculations WHERE project_id = ?");
+        findByProjectAndId = connection.prepareStatement("SELECT * FROM calculations WHERE project_id = ? AND id = ?");
+        findPageByProject = connection.prepareStatement(
+                "SELECT * FROM calculations WHERE project_id = ? AND id > ? ORDER BY id LIMIT " + PAGE_SIZE);
+        findUpdatedSince = connection.prepareStatement(
+                "SELECT * FROM calculations WHERE updated_at > ? ORDER BY updated_at LIMIT " + PAGE_SIZE);
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException
+    {
+        connection.close();
+    }
+
+    @Benchmark
+    public void findByProject(Blackhole blackhole) throws SQLException
+    {
+        findByProject.setLong(1, randomProjectId());
+        consume(findByProject, blackhole);
+    }
+
+    @Benchmark
+    public void findByProjectAndId(Blackhole blackhole) throws SQLException
+    {
+        long projectId = randomProjectId();
+        findByProjectAndId.setLong(1, projectId);
+        findByProjectAndId.setLong(2, (projectId - 1) * calculationsPerProject + random.nextInt(calculationsPerProject) + 1);
+        consume(findByProjectAndId, blackhole);
+    }
+
+    @Benchmark
+    public void findPageByProject(Blackhole blackhole) throws SQLException
+    {
+        long projectId = randomProjectId();
+        findPageByProject.setLong(1, projectId);
+        findPageByProject.setLong(2, (projectId - 1) * calculationsPerProject + random.nextInt(calculationsPerProject - PAGE_SIZE));
+        consume(findPageByProject, blackhole);
+    }
+
+    @Benchmark
+    public void findUpdatedSince(Blackhole blackhole) throws SQLException
+    {
+        findUpdatedSince.setTimestamp(1, new Timestamp(updatedSince - random.nextInt(PAGE_SIZE * 10)));
+        consume(findUpdatedSince, blackhole);
+    }
+
+    private long randomProjectId()
+    {
+        return random.nextInt(projects) + 1;
+    }
+
+    private void insertRows() throws SQLException
+    {
+        long now = System.currentTimeMillis();
+        long id = 0;
+
+        connection.setAutoCommit(false);
+
+        try (PreparedStatement insertProject = connection.prepareStatement("INSERT INTO projects (id, name) VALUES (?, ?)");
+             PreparedStatement insertCalculation = connection.prepareStatement("INSERT INTO calculations " +
+                     "(id, project_id, description, expression, result, updated_at) VALUES (?, ?, ?, ?, ?, ?)"))
+        {
+            for (long projectId = 1; projectId <= projects; projectId++)
+            {
+                insertProject.setLong(1, projectId);
+                insertProject.setString(2, "Project " + projectId);
+                insertProject.executeUpdate();
+
+                for (int i = 0; i < calculationsPerProject; i++)
+                {
+                    id++;
+                    insertCalculation.setLong(1, id);
+                    insertCalculation.setLong(2, projectId);
+                    insertCalculation.setString(3, "Calculation " + id);
+                    insertCalculation.setString(4, id + "*2");
+                    insertCalculation.setBigDecimal(5, BigDecimal.valueOf(id * 2));
+                    insertCalculation.setTimestamp(6, new Timestamp(now - id));
+                    insertCalculation.addBatch();
+                }
+
+                insertCalculation.executeBatch();
+            }
+        }
+
+        connection.commit();
+        connection.setAutoCommit(true);
+        updatedSince = now - (long) projects * calculationsPerProject / 2;
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException
+    {
+        try (ResultSet resultSet = statement.executeQuery())
+        {
+            while (resultSet.next())
+            {
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.szczwany.calculator.benchmark;
+
+import java.util.Random;
+
+public enum NumberMix
+{
+    INTEGER,
+    DECIMAL,
+    MIXED;
+
+    boolean isDecimal(Random random)
+    {
+        return this == DECIMAL || (this == MIXED && random.nextBoolean());
+    }
+}
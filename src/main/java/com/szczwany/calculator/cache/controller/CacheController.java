@@ -0,0 +1,53 @@
+package com.szczwany.calculator.cache.controller;
+
+import com.szczwany.calculator.cache.model.CacheStatistics;
+import com.szczwany.calculator.cache.service.EntityCacheService;
+import com.szczwany.calculator.cache.service.ExpressionCacheService;
+import com.szczwany.calculator.cache.service.ResultCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.util.List;
+
+import static com.szczwany.calculator.utils.Globals.*;
+import static com.szczwany.calculator.utils.Response.*;
+
+@Controller
+@RequestMapping(value = CACHES_PATH)
+public class CacheController
+{
+    private ResultCacheService resultCacheService;
+    private ExpressionCacheService expressionCacheService;
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    public CacheController(ResultCacheService resultCacheService, ExpressionCacheService expressionCacheService,
+                           EntityCacheService entityCacheService)
+    {
+        this.resultCacheService = resultCacheService;
+        this.expressionCacheService = expressionCacheService;
+        this.entityCacheService = entityCacheService;
+    }
+
+    @GetMapping(value = RESULT_CACHE_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CacheStatistics> getResultCacheStatistics()
+    {
+        return statusOkWithBody(resultCacheService.getStatistics());
+    }
+
+    @GetMapping(value = EXPRESSION_CACHE_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CacheStatistics> getExpressionCacheStatistics()
+    {
+        return statusOkWithBody(expressionCacheService.getStatistics());
+    }
+
+    @GetMapping(value = ENTITY_CACHE_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<CacheStatistics>> getEntityCacheStatistics()
+    {
+        return statusOkWithBody(entityCacheService.getStatistics());
+    }
+}
@@ -0,0 +1,51 @@
+package com.szczwany.calculator.cache.model;
+
+public class CacheStatistics
+{
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+
+    public CacheStatistics(String name, long size, long hitCount, long missCount, double hitRate, long evictionCount)
+    {
+        this.name = name;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.evictionCount = evictionCount;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public long getSize()
+    {
+        return size;
+    }
+
+    public long getHitCount()
+    {
+        return hitCount;
+    }
+
+    public long getMissCount()
+    {
+        return missCount;
+    }
+
+    public double getHitRate()
+    {
+        return hitRate;
+    }
+
+    public long getEvictionCount()
+    {
+        return evictionCount;
+    }
+}
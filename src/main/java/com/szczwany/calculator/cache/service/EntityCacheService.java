@@ -0,0 +1,46 @@
+package com.szczwany.calculator.cache.service;
+
+import com.szczwany.calculator.cache.model.CacheStatistics;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.statistics.StatisticsGateway;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.szczwany.calculator.utils.Globals.*;
+
+///
+// Hibernate keeps entity and query regions in the singleton Ehcache manager
+///
+@Service
+public class EntityCacheService implements IEntityCacheService
+{
+    private static final String[] REGIONS = { PROJECT_CACHE, CALCULATION_CACHE, CALCULATIONS_BY_PROJECT_CACHE };
+
+    @Override
+    public List<CacheStatistics> getStatistics()
+    {
+        CacheManager cacheManager = CacheManager.getInstance();
+
+        return Stream.of(REGIONS)
+                .map(cacheManager::getEhcache)
+                .filter(Objects::nonNull)
+                .map(EntityCacheService::toStatistics)
+                .collect(Collectors.toList());
+    }
+
+    private static CacheStatistics toStatistics(Ehcache cache)
+    {
+        StatisticsGateway stats = cache.getStatistics();
+        long hitCount = stats.cacheHitCount();
+        long missCount = stats.cacheMissCount();
+        long requestCount = hitCount + missCount;
+
+        return new CacheStatistics(cache.getName(), stats.getSize(), hitCount, missCount,
+                requestCount == 0 ? 1.0 : (double) hitCount / requestCount, stats.cacheEvictedCount());
+    }
+}
@@ -0,0 +1,53 @@
+package com.szczwany.calculator.cache.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.szczwany.calculator.cache.model.CacheStatistics;
+import com.szczwany.calculator.calculator.Calculator;
+import com.szczwany.calculator.calculator.CompiledExpression;
+import com.szczwany.calculator.calculator.ParsedExpression;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.function.LongFunction;
+
+import static com.szczwany.calculator.utils.Globals.EXPRESSION_CACHE;
+
+///
+// Parsed programs shared by every request and job, keyed like the result cache by the normalized expression;
+// only references are bound per compile, invalid expressions are not cached
+///
+@Service
+public class ExpressionCacheService implements IExpressionCacheService
+{
+    private Cache<String, ParsedExpression> expressions;
+
+    @Autowired
+    public ExpressionCacheService(@Value("${calculator.cache.expressions.maximum-size}") long maximumSize)
+    {
+        this.expressions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public CompiledExpression compile(String expression, LongFunction<BigDecimal> references)
+    {
+        ParsedExpression parsedExpression = expressions.get(Calculator.normalize(expression), Calculator::parse);
+
+        return parsedExpression != null ? parsedExpression.compile(references) : null;
+    }
+
+    @Override
+    public CacheStatistics getStatistics()
+    {
+        CacheStats stats = expressions.stats();
+
+        return new CacheStatistics(EXPRESSION_CACHE, expressions.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+}
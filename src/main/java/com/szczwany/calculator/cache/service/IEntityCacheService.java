@@ -0,0 +1,10 @@
+package com.szczwany.calculator.cache.service;
+
+import com.szczwany.calculator.cache.model.CacheStatistics;
+
+import java.util.List;
+
+public interface IEntityCacheService
+{
+    List<CacheStatistics> getStatistics();
+}
@@ -0,0 +1,13 @@
+package com.szczwany.calculator.cache.service;
+
+import com.szczwany.calculator.cache.model.CacheStatistics;
+import com.szczwany.calculator.calculator.CompiledExpression;
+
+import java.math.BigDecimal;
+import java.util.function.LongFunction;
+
+public interface IExpressionCacheService
+{
+    CompiledExpression compile(String expression, LongFunction<BigDecimal> references);
+    CacheStatistics getStatistics();
+}
@@ -0,0 +1,11 @@
+package com.szczwany.calculator.cache.service;
+
+import com.szczwany.calculator.cache.model.CacheStatistics;
+
+import java.math.BigDecimal;
+
+public interface IResultCacheService
+{
+    BigDecimal evaluate(String expression);
+    CacheStatistics getStatistics();
+}
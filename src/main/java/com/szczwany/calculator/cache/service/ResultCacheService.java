@@ -0,0 +1,53 @@
+package com.szczwany.calculator.cache.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.szczwany.calculator.cache.model.CacheStatistics;
+import com.szczwany.calculator.calculator.Calculator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+import static com.szczwany.calculator.utils.Globals.RESULT_CACHE;
+
+@Service
+public class ResultCacheService implements IResultCacheService
+{
+    private Cache<String, BigDecimal> results;
+
+    @Autowired
+    public ResultCacheService(@Value("${calculator.cache.results.maximum-size}") long maximumSize)
+    {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    ///
+    // The normalized expression is looked up first and compiled only on a miss, expressions with references
+    // have no cacheable result and give null like invalid ones
+    ///
+    @Override
+    public BigDecimal evaluate(String expression)
+    {
+        if (Calculator.hasReferences(expression))
+        {
+            return null;
+        }
+
+        return results.get(Calculator.normalize(expression), Calculator::calculate);
+    }
+
+    @Override
+    public CacheStatistics getStatistics()
+    {
+        CacheStats stats = results.stats();
+
+        return new CacheStatistics(RESULT_CACHE, results.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+}
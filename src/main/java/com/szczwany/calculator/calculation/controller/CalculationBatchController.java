@@ -0,0 +1,55 @@
+package com.szczwany.calculator.calculation.controller;
+
+import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.CalculationBatch;
+import com.szczwany.calculator.calculation.service.CalculationWriteService;
+import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.project.service.ProjectService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import javax.validation.Valid;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.szczwany.calculator.utils.Globals.*;
+import static com.szczwany.calculator.utils.Response.statusCreated;
+
+@Controller
+public class CalculationBatchController
+{
+    private ProjectService projectService;
+    private CalculationWriteService calculationWriteService;
+
+    @Autowired
+    public CalculationBatchController(ProjectService projectService, CalculationWriteService calculationWriteService)
+    {
+        this.projectService = projectService;
+        this.calculationWriteService = calculationWriteService;
+    }
+
+    @PostMapping(value = CALCULATIONS_PATH + BATCH_PATH)
+    public ResponseEntity<List<Long>> addCalculations(@PathVariable Long projectId, @RequestBody @Valid CalculationBatch batch)
+    {
+        Project project = projectService.getProject(projectId);
+        List<Calculation> calculations = batch.getCalculations();
+
+        for (Calculation calculation : calculations)
+        {
+            calculation.setId(null);
+            calculation.setProject(project);
+            calculation.setResult(null);
+            calculation.setUpdatedAt(null);
+        }
+
+        calculationWriteService.addCalculations(projectId, calculations);
+
+        return statusCreated(CALCULATIONS_PATH, projectId, calculations.stream()
+                .map(Calculation::getId)
+                .collect(Collectors.toList()));
+    }
+}
@@ -1,16 +1,27 @@
 package com.szczwany.calculator.calculation.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.szczwany.calculator.calculation.exception.CalculationNotFoundException;
 import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.ImportSummary;
+import com.szczwany.calculator.calculation.service.CalculationImportService;
 import com.szczwany.calculator.calculation.service.CalculationService;
+import com.szczwany.calculator.calculation.service.CalculationWriteService;
 import com.szczwany.calculator.project.model.Project;
 import com.szczwany.calculator.project.service.ProjectService;
+import com.szczwany.calculator.utils.NdjsonWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 
 import static com.szczwany.calculator.utils.Globals.*;
@@ -22,36 +33,98 @@ public class CalculationController
 {
     private ProjectService projectService;
     private CalculationService calculationService;
+    private CalculationWriteService calculationWriteService;
+    private CalculationImportService calculationImportService;
+    private ObjectMapper objectMapper;
+    private int defaultPageSize;
 
     @Autowired
-    public CalculationController(ProjectService projectService, CalculationService calculationService)
+    public CalculationController(ProjectService projectService, CalculationService calculationService,
+                                 CalculationWriteService calculationWriteService, CalculationImportService calculationImportService,
+                                 ObjectMapper objectMapper,
+                                 @Value("${calculator.paging.default-size}") int defaultPageSize)
     {
         this.projectService = projectService;
         this.calculationService = calculationService;
+        this.calculationWriteService = calculationWriteService;
+        this.calculationImportService = calculationImportService;
+        this.objectMapper = objectMapper;
+        this.defaultPageSize = defaultPageSize;
     }
 
     @GetMapping(value = EMPTY_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> getCalculationsByProject(@PathVariable Long projectId)
+    public ResponseEntity<?> getCalculationsByProject(@PathVariable Long projectId, @RequestParam(required = false) Integer size,
+                                                      @RequestParam(defaultValue = "0") Long afterId,
+                                                      @RequestParam(defaultValue = "false") boolean unpaged, WebRequest request)
     {
+        if (request.checkNotModified(eTag(JSON_VARIANT, projectService.getDataVersion(projectId))))
+        {
+            return null;
+        }
+
         Project project = getProjectIfExists(projectId);
-        Collection<Calculation> calculations = calculationService.getCalculationsByProject(project);
+        Collection<Calculation> calculations = unpaged ?
+                calculationService.getCalculationsByProject(project) :
+                calculationService.getCalculationsByProject(project, afterId, size != null ? size : defaultPageSize);
 
         return calculations.isEmpty() ? statusNoContent() : statusOkWithBody(calculations);
     }
 
+    @GetMapping(value = EMPTY_PATH, produces = APPLICATION_NDJSON_VALUE)
+    public void streamCalculationsByProject(@PathVariable Long projectId, WebRequest request,
+                                            HttpServletResponse response) throws IOException
+    {
+        if (request.checkNotModified(eTag(NDJSON_VARIANT, projectService.getDataVersion(projectId))))
+        {
+            return;
+        }
+
+        Project project = getProjectIfExists(projectId);
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, response.getOutputStream()))
+        {
+            calculationService.streamCalculationsByProject(project, writer::write);
+        }
+    }
+
     @PostMapping(value = EMPTY_PATH)
     public ResponseEntity<Long> addCalculation(@PathVariable Long projectId, @RequestBody @Valid Calculation calculation)
     {
         Project project = getProjectIfExists(projectId);
         setUpCalculationData(calculation, project, null);
-        calculationService.addCalculation(calculation);
+        calculationWriteService.addCalculation(projectId, calculation);
 
         return statusCreated(CALCULATIONS_PATH, calculation.getId());
     }
 
+    @PostMapping(value = IMPORT_PATH, consumes = TEXT_CSV_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportSummary> importCsv(@PathVariable Long projectId, @RequestParam(defaultValue = "false") boolean evaluate,
+                                                   InputStream body) throws IOException
+    {
+        Project project = getProjectIfExists(projectId);
+
+        return statusOkWithBody(calculationImportService.importCsv(project, body, evaluate));
+    }
+
+    @PostMapping(value = IMPORT_PATH, consumes = APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportSummary> importNdjson(@PathVariable Long projectId, @RequestParam(defaultValue = "false") boolean evaluate,
+                                                      InputStream body) throws IOException
+    {
+        Project project = getProjectIfExists(projectId);
+
+        return statusOkWithBody(calculationImportService.importNdjson(project, body, evaluate));
+    }
+
     @GetMapping(value = CALCULATION_ID_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Calculation> getCalculation(@PathVariable Long projectId, @PathVariable Long calculationId)
+    public ResponseEntity<Calculation> getCalculation(@PathVariable Long projectId, @PathVariable Long calculationId,
+                                                      WebRequest request)
     {
+        if (request.checkNotModified(eTag(JSON_VARIANT, projectService.getDataVersion(projectId))))
+        {
+            return null;
+        }
+
         Project project = getProjectIfExists(projectId);
         Calculation calculation = calculationService.getCalculation(project, calculationId);
 
@@ -61,10 +134,10 @@ public class CalculationController
     @PutMapping(value = CALCULATION_ID_PATH)
     public ResponseEntity<?> updateCalculation(@PathVariable Long projectId, @PathVariable Long calculationId, @RequestBody @Valid Calculation calculation)
     {
-        Project project = getProjectIfExists(projectId);
-        calculationService.getCalculation(project, calculationId);
-        setUpCalculationData(calculation, project, calculationId);
-        calculationService.updateCalculation(calculation);
+        if (!calculationWriteService.updateCalculation(projectId, calculationId, calculation))
+        {
+            throw calculationNotFound(projectId, calculationId);
+        }
 
         return statusNoContent();
     }
@@ -72,9 +145,10 @@ public class CalculationController
     @DeleteMapping(value = CALCULATION_ID_PATH)
     public ResponseEntity<?> deleteCalculation(@PathVariable Long projectId, @PathVariable Long calculationId)
     {
-        Project project = getProjectIfExists(projectId);
-        calculationService.getCalculation(project, calculationId);
-        calculationService.deleteCalculation(calculationId);
+        if (!calculationWriteService.deleteCalculation(projectId, calculationId))
+        {
+            throw calculationNotFound(projectId, calculationId);
+        }
 
         return statusNoContent();
     }
@@ -84,6 +158,16 @@ public class CalculationController
         return projectService.getProject(projectId);
     }
 
+    ///
+    // Only called when the scoped update/delete touched no row, tells a missing project from a missing calculation
+    ///
+    private CalculationNotFoundException calculationNotFound(Long projectId, Long calculationId)
+    {
+        getProjectIfExists(projectId);
+
+        return new CalculationNotFoundException(calculationId);
+    }
+
     private void setUpCalculationData(Calculation calculation, Project project, Long id)
     {
         calculation.setId(id);
@@ -1,20 +1,28 @@
 package com.szczwany.calculator.calculation.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.szczwany.calculator.calculation.model.Calculation;
-import com.szczwany.calculator.calculation.model.ResultThread;
+import com.szczwany.calculator.calculation.model.CalculationExpression;
 import com.szczwany.calculator.calculation.service.CalculationService;
-import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.calculation.service.ResultService;
+import com.szczwany.calculator.job.model.Job;
+import com.szczwany.calculator.job.model.JobStatus;
 import com.szczwany.calculator.project.service.ProjectService;
+import com.szczwany.calculator.utils.NdjsonWriter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.List;
 
 import static com.szczwany.calculator.utils.Globals.*;
 import static com.szczwany.calculator.utils.Response.*;
@@ -24,64 +32,112 @@ public class ResultController
 {
     private CalculationService calculationService;
     private ProjectService projectService;
+    private ResultService resultService;
+    private ObjectMapper objectMapper;
+    private int defaultPageSize;
 
-    public ResultController(CalculationService calculationService, ProjectService projectService)
+    public ResultController(CalculationService calculationService, ProjectService projectService, ResultService resultService,
+                            ObjectMapper objectMapper, @Value("${calculator.paging.default-size}") int defaultPageSize)
     {
         this.calculationService = calculationService;
         this.projectService = projectService;
+        this.resultService = resultService;
+        this.objectMapper = objectMapper;
+        this.defaultPageSize = defaultPageSize;
     }
 
     @GetMapping(value = ALL_CALCULATIONS_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> getCalculations()
+    public ResponseEntity<?> getCalculations(@RequestParam(required = false) Integer size,
+                                             @RequestParam(defaultValue = "0") Long afterId,
+                                             @RequestParam(defaultValue = "false") boolean unpaged, WebRequest request)
     {
-        Collection<Calculation> calculations = calculationService.getCalculations();
+        if (request.checkNotModified(eTag(JSON_VARIANT, projectService.getDataVersionOfAll())))
+        {
+            return null;
+        }
+
+        Collection<Calculation> calculations = unpaged ?
+                calculationService.getCalculations() : calculationService.getCalculations(afterId, size != null ? size : defaultPageSize);
 
         return calculations.isEmpty() ? statusNoContent() : statusOkWithBody(calculations);
     }
 
+    @GetMapping(value = ALL_CALCULATIONS_PATH, produces = APPLICATION_NDJSON_VALUE)
+    public void streamCalculations(WebRequest request, HttpServletResponse response) throws IOException
+    {
+        if (request.checkNotModified(eTag(NDJSON_VARIANT, projectService.getDataVersionOfAll())))
+        {
+            return;
+        }
+
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, response.getOutputStream()))
+        {
+            calculationService.streamCalculations(writer::write);
+        }
+    }
+
     @GetMapping(value = ALL_CALCULATIONS_PATH + RESULT_PATH)
-    public ResponseEntity<?> setResults()
+    public ResponseEntity<?> setResults(@RequestParam(defaultValue = "false") boolean async,
+                                        @RequestParam(defaultValue = "false") boolean force,
+                                        @RequestParam(required = false) Long deadline)
     {
-        Collection<Calculation> calculations = calculationService.getCalculations();
+        List<CalculationExpression> calculations = force ?
+                calculationService.getCalculationExpressions() : calculationService.getStaleCalculationExpressions();
 
-        return evaluateCalculations(calculations);
+        return evaluateCalculations(calculations, async, deadline);
     }
 
     @GetMapping(value = PROJECTS_PATH + PROJECT_ID_PATH + RESULT_PATH)
-    public ResponseEntity<?> setResultsByProject(@PathVariable Long projectId)
+    public ResponseEntity<?> setResultsByProject(@PathVariable Long projectId, @RequestParam(defaultValue = "false") boolean async,
+                                                 @RequestParam(defaultValue = "false") boolean force,
+                                                 @RequestParam(required = false) Long deadline)
     {
-        Project project = projectService.getProject(projectId);
-        Collection<Calculation> calculations = calculationService.getCalculationsByProject(project);
+        projectService.getProject(projectId);
+        List<CalculationExpression> calculations = force ?
+                calculationService.getCalculationExpressionsByProject(projectId) :
+                calculationService.getStaleCalculationExpressionsByProject(projectId);
 
-        return evaluateCalculations(calculations);
+        return evaluateCalculations(calculations, async, deadline);
     }
 
     @GetMapping(value = CALCULATIONS_PATH + CALCULATION_ID_PATH + RESULT_PATH)
-    public ResponseEntity<?> setResultsByCalculation(@PathVariable Long projectId, @PathVariable Long calculationId)
+    public ResponseEntity<?> setResultsByCalculation(@PathVariable Long projectId, @PathVariable Long calculationId,
+                                                     @RequestParam(defaultValue = "false") boolean async,
+                                                     @RequestParam(required = false) Long deadline)
     {
-        Project project = projectService.getProject(projectId);
-        Calculation calculation = calculationService.getCalculation(project, calculationId);
+        projectService.getProject(projectId);
+        CalculationExpression calculation = calculationService.getCalculationExpression(projectId, calculationId);
 
-        return evaluateCalculations(Collections.singletonList(calculation));
+        return evaluateCalculations(Collections.singletonList(calculation), async, deadline);
     }
 
-    private ResponseEntity<?> evaluateCalculations(Collection<Calculation> calculations)
+    ///
+    // deadline is in milliseconds, a synchronous run cut short by it answers with the job to show what was done,
+    // a failed run answers with the job and its error
+    ///
+    private ResponseEntity<?> evaluateCalculations(List<CalculationExpression> calculations, boolean async, Long deadline)
     {
-        ExecutorService executorService = Executors.newFixedThreadPool(4);
-
-        for (Calculation calculation : calculations)
+        if (deadline != null && deadline <= 0)
         {
-            ResultThread resultWorker = new ResultThread(calculation, calculationService);
-            executorService.submit(resultWorker);
+            throw new IllegalArgumentException("deadline must be positive");
         }
 
-        executorService.shutdown();
+        Job job = resultService.evaluateCalculations(calculations, deadline);
 
-        while (!executorService.isTerminated())
+        if (async)
         {
+            return statusAccepted(JOBS_PATH + JOB_ID_PATH, job.getId(), job);
+        }
 
+        JobStatus status = job.await().getStatus();
+
+        if (status == JobStatus.FAILED)
+        {
+            return statusInternalServerErrorWithBody(job);
         }
 
-        return statusNoContent();
+        return status == JobStatus.CANCELLED ? statusOkWithBody(job) : statusNoContent();
     }
 }
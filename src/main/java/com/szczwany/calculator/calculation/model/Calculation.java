@@ -1,11 +1,16 @@
 package com.szczwany.calculator.calculation.model;
 
 import com.fasterxml.jackson.annotation.*;
+import com.szczwany.calculator.calculator.Calculator;
+import com.szczwany.calculator.calculator.validation.MathExpression;
 import com.szczwany.calculator.project.model.Project;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.validator.constraints.NotBlank;
 
 import javax.persistence.*;
-import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
@@ -14,13 +19,19 @@ import java.util.Date;
 import static com.szczwany.calculator.utils.Globals.*;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CALCULATION_CACHE)
 @Table(name = "calculations")
 @JsonIgnoreProperties(value = "updatedAt", allowGetters = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Calculation
 {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GenericGenerator(name = "calculations_sequence", strategy = ID_GENERATOR, parameters = {
+            @Parameter(name = "sequence_name", value = "calculations_sequence"),
+            @Parameter(name = "increment_size", value = ID_ALLOCATION_SIZE),
+            @Parameter(name = "optimizer", value = ID_OPTIMIZER)})
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "calculations_sequence")
     @Column(name = "id")
     private Long id;
 
@@ -30,7 +41,7 @@ public class Calculation
     private String description;
 
     @NotBlank
-    @Pattern(regexp = MATH_EXPRESSION_REGEX)
+    @MathExpression
     @Size(max = 100)
     @Column(name = "expression")
     private String expression;
@@ -44,7 +55,15 @@ public class Calculation
     private Date updatedAt;
 
     @JsonIgnore
-    @ManyToOne
+    @Column(name = "expression_hash")
+    private Long expressionHash;
+
+    @JsonIgnore
+    @Column(name = "result_hash")
+    private Long resultHash;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
 
@@ -102,6 +121,16 @@ public class Calculation
         this.updatedAt = updatedAt;
     }
 
+    public Long getExpressionHash()
+    {
+        return expressionHash;
+    }
+
+    public Long getResultHash()
+    {
+        return resultHash;
+    }
+
     public Project getProject()
     {
         return project;
@@ -112,9 +141,17 @@ public class Calculation
         this.project = project;
     }
 
+    @PrePersist
+    @PreUpdate
+    public void updateExpressionHash()
+    {
+        this.expressionHash = Calculator.hash(expression);
+    }
+
     public void setResultAndUpdatedAt(BigDecimal result)
     {
         this.setResult(result);
+        this.resultHash = Calculator.hash(expression);
         this.setUpdatedAt(new Timestamp(System.currentTimeMillis() + ONE_HOUR_MILISECONDS));
     }
 }
@@ -0,0 +1,34 @@
+package com.szczwany.calculator.calculation.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static com.szczwany.calculator.utils.Globals.MAX_BATCH_SIZE;
+
+///
+// Plain JSON array on the wire, wrapped only so every element goes through bean validation
+///
+public class CalculationBatch
+{
+    @Valid
+    @NotNull
+    @Size(min = 1, max = MAX_BATCH_SIZE)
+    private List<Calculation> calculations;
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public CalculationBatch(List<Calculation> calculations)
+    {
+        this.calculations = calculations;
+    }
+
+    @JsonValue
+    public List<Calculation> getCalculations()
+    {
+        return calculations;
+    }
+}
@@ -0,0 +1,59 @@
+package com.szczwany.calculator.calculation.model;
+
+import com.szczwany.calculator.calculator.Calculator;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import static com.szczwany.calculator.utils.Globals.ONE_HOUR_MILISECONDS;
+
+///
+// Read-only projection of a calculation for the results pipeline, only the columns evaluation needs are selected
+// so the rows are neither managed by the persistence context nor joined with their project
+///
+public class CalculationExpression
+{
+    private Long id;
+    private String expression;
+    private Long expressionHash;
+    private BigDecimal result;
+
+    public CalculationExpression(Long id, String expression, Long expressionHash, BigDecimal result)
+    {
+        this.id = id;
+        this.expression = expression;
+        this.expressionHash = expressionHash;
+        this.result = result;
+    }
+
+    public Long getId()
+    {
+        return id;
+    }
+
+    public String getExpression()
+    {
+        return expression;
+    }
+
+    public Long getExpressionHash()
+    {
+        return expressionHash;
+    }
+
+    public BigDecimal getResult()
+    {
+        return result;
+    }
+
+    ///
+    // The stored hash is reused, it is only computed for rows written before hashes were stored
+    ///
+    public CalculationResult setResultAndUpdatedAt(BigDecimal result)
+    {
+        this.result = result;
+
+        return new CalculationResult(id, result, new Timestamp(System.currentTimeMillis() + ONE_HOUR_MILISECONDS),
+                expressionHash != null ? expressionHash : Calculator.hash(expression));
+    }
+}
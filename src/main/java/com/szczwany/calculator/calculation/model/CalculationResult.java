@@ -0,0 +1,40 @@
+package com.szczwany.calculator.calculation.model;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+public class CalculationResult
+{
+    private Long id;
+    private BigDecimal result;
+    private Date updatedAt;
+    private long expressionHash;
+
+    public CalculationResult(Long id, BigDecimal result, Date updatedAt, long expressionHash)
+    {
+        this.id = id;
+        this.result = result;
+        this.updatedAt = updatedAt;
+        this.expressionHash = expressionHash;
+    }
+
+    public Long getId()
+    {
+        return id;
+    }
+
+    public BigDecimal getResult()
+    {
+        return result;
+    }
+
+    public Date getUpdatedAt()
+    {
+        return updatedAt;
+    }
+
+    public long getExpressionHash()
+    {
+        return expressionHash;
+    }
+}
@@ -0,0 +1,57 @@
+package com.szczwany.calculator.calculation.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.szczwany.calculator.utils.Globals.MAX_REPORTED_REJECTIONS;
+
+///
+// Counters cover every row, only the first rejections are kept with their line numbers
+///
+public class ImportSummary
+{
+    private long accepted;
+    private long rejected;
+    private long evaluated;
+    private List<RejectedRow> rejectedRows = new ArrayList<>();
+
+    public void accept(int count)
+    {
+        accepted += count;
+    }
+
+    public void evaluated()
+    {
+        evaluated++;
+    }
+
+    public void reject(long line, String reason)
+    {
+        rejected++;
+
+        if (rejectedRows.size() < MAX_REPORTED_REJECTIONS)
+        {
+            rejectedRows.add(new RejectedRow(line, reason));
+        }
+    }
+
+    public long getAccepted()
+    {
+        return accepted;
+    }
+
+    public long getRejected()
+    {
+        return rejected;
+    }
+
+    public long getEvaluated()
+    {
+        return evaluated;
+    }
+
+    public List<RejectedRow> getRejectedRows()
+    {
+        return rejectedRows;
+    }
+}
@@ -0,0 +1,23 @@
+package com.szczwany.calculator.calculation.model;
+
+public class RejectedRow
+{
+    private long line;
+    private String reason;
+
+    public RejectedRow(long line, String reason)
+    {
+        this.line = line;
+        this.reason = reason;
+    }
+
+    public long getLine()
+    {
+        return line;
+    }
+
+    public String getReason()
+    {
+        return reason;
+    }
+}
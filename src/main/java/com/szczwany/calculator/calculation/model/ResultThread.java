@@ -1,35 +1,94 @@
 package com.szczwany.calculator.calculation.model;
 
+import com.szczwany.calculator.cache.service.ExpressionCacheService;
+import com.szczwany.calculator.cache.service.ResultCacheService;
 import com.szczwany.calculator.calculation.service.CalculationService;
 import com.szczwany.calculator.calculator.Calculator;
+import com.szczwany.calculator.calculator.CompiledExpression;
+import com.szczwany.calculator.job.model.Job;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public class ResultThread implements Runnable
 {
-    private Calculation calculation;
+    private List<CalculationExpression> calculations;
     private CalculationService calculationService;
+    private ResultCacheService resultCacheService;
+    private ExpressionCacheService expressionCacheService;
+    private Job job;
+    private Map<Long, BigDecimal> references;
 
-    public ResultThread(Calculation calculation, CalculationService calculationService)
+    public ResultThread(List<CalculationExpression> calculations, CalculationService calculationService,
+                        ResultCacheService resultCacheService, Job job)
     {
-        this.calculation = calculation;
+        this(calculations, calculationService, resultCacheService, null, job, null);
+    }
+
+    ///
+    // With references every expression is compiled against the given results and its own result is added to them,
+    // expressions with references are parsed once and shared through the expression cache
+    ///
+    public ResultThread(List<CalculationExpression> calculations, CalculationService calculationService,
+                        ResultCacheService resultCacheService, ExpressionCacheService expressionCacheService, Job job,
+                        Map<Long, BigDecimal> references)
+    {
+        this.calculations = calculations;
         this.calculationService = calculationService;
+        this.resultCacheService = resultCacheService;
+        this.expressionCacheService = expressionCacheService;
+        this.job = job;
+        this.references = references;
     }
 
+    ///
+    // A cancelled job stops the chunk early, results computed before that are still written
+    ///
     @Override
     public void run()
     {
-        getAndSaveCalculationResult();
+        List<CalculationResult> results = new ArrayList<>(calculations.size());
+        int processed = 0;
+
+        for (CalculationExpression calculation : calculations)
+        {
+            if (job.isCancelRequested())
+            {
+                break;
+            }
+
+            BigDecimal result = getCalculationResult(calculation);
+            processed++;
+
+            if (result != null)
+            {
+                results.add(calculation.setResultAndUpdatedAt(result));
+            }
+        }
+
+        calculationService.updateResults(results);
+        job.addProgress(processed, processed - results.size());
     }
 
-    private void getAndSaveCalculationResult()
+    private BigDecimal getCalculationResult(CalculationExpression calculation)
     {
-        BigDecimal result = Calculator.calculate(calculation.getExpression());
+        BigDecimal result = references == null || !Calculator.hasReferences(calculation.getExpression()) ?
+                resultCacheService.evaluate(calculation.getExpression()) : evaluateWithReferences(calculation.getExpression());
 
-        if(result != null)
+        if (result != null && references != null)
         {
-            calculation.setResultAndUpdatedAt(result);
-            calculationService.updateCalculation(calculation);
+            references.put(calculation.getId(), result);
         }
+
+        return result;
+    }
+
+    private BigDecimal evaluateWithReferences(String expression)
+    {
+        CompiledExpression compiledExpression = expressionCacheService.compile(expression, references::get);
+
+        return compiledExpression != null ? compiledExpression.evaluate() : null;
     }
 }
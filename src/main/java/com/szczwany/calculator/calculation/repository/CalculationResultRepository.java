@@ -0,0 +1,110 @@
+package com.szczwany.calculator.calculation.repository;
+
+import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.CalculationResult;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.szczwany.calculator.utils.Globals.CALCULATIONS_BY_PROJECT_CACHE;
+
+@Repository
+public class CalculationResultRepository
+{
+    private static final String UPDATE_RESULT_SQL = "UPDATE calculations SET result = ?, updated_at = ?, result_hash = ?, " +
+            "expression_hash = COALESCE(expression_hash, ?) WHERE id = ?";
+    private static final String UPDATE_CALCULATION_SQL = "UPDATE calculations SET description = ?, expression = ?, " +
+            "expression_hash = ?, result = NULL, updated_at = NULL WHERE id = ? AND project_id = ?";
+    private static final String DELETE_CALCULATION_SQL = "DELETE FROM calculations WHERE id = ? AND project_id = ?";
+
+    private JdbcTemplate jdbcTemplate;
+    private EntityManagerFactory entityManagerFactory;
+    private int batchSize;
+
+    @Autowired
+    public CalculationResultRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                                       @Value("${calculator.evaluation.batch-size}") int batchSize)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.batchSize = batchSize;
+    }
+
+    public void updateResults(List<CalculationResult> results)
+    {
+        jdbcTemplate.batchUpdate(UPDATE_RESULT_SQL, results, batchSize, (statement, result) ->
+        {
+            statement.setBigDecimal(1, result.getResult());
+            statement.setTimestamp(2, new Timestamp(result.getUpdatedAt().getTime()));
+            statement.setLong(3, result.getExpressionHash());
+            statement.setLong(4, result.getExpressionHash());
+            statement.setLong(5, result.getId());
+        });
+
+        evict(results.stream()
+                .map(CalculationResult::getId)
+                .collect(Collectors.toList()));
+    }
+
+    ///
+    // Single-row writes go through JDBC as well, a bulk HQL statement would make Hibernate clear the whole region
+    ///
+    public int updateCalculation(Long projectId, Long calculationId, String description, String expression, Long expressionHash)
+    {
+        int updated = jdbcTemplate.update(UPDATE_CALCULATION_SQL, description, expression, expressionHash, calculationId, projectId);
+        evict(Collections.singletonList(calculationId));
+
+        return updated;
+    }
+
+    public int deleteCalculation(Long projectId, Long calculationId)
+    {
+        int deleted = jdbcTemplate.update(DELETE_CALCULATION_SQL, calculationId, projectId);
+        evict(Collections.singletonList(calculationId));
+
+        return deleted;
+    }
+
+    ///
+    // Hibernate does not see these updates, cached rows are evicted now and again once the transaction
+    // is over, so a concurrent read of the old row cannot put it back into the cache
+    ///
+    private void evict(List<Long> ids)
+    {
+        evictCachedRows(ids);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+            {
+                @Override
+                public void afterCompletion(int status)
+                {
+                    evictCachedRows(ids);
+                }
+            });
+        }
+    }
+
+    ///
+    // Cached query results hold ids only, without the region every evicted row would be loaded one by one
+    ///
+    private void evictCachedRows(List<Long> ids)
+    {
+        Cache cache = entityManagerFactory.getCache();
+        ids.forEach(id -> cache.evict(Calculation.class, id));
+
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(CALCULATIONS_BY_PROJECT_CACHE);
+    }
+}
@@ -1,15 +1,78 @@
 package com.szczwany.calculator.calculation.repository;
 
 import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.CalculationExpression;
 import com.szczwany.calculator.project.model.Project;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static com.szczwany.calculator.utils.Globals.*;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface ICalculationRepository extends CrudRepository<Calculation, Long>
+public interface ICalculationRepository extends PagingAndSortingRepository<Calculation, Long>
 {
+    String STALE_CONDITION = "c.result is null or c.resultHash is null or c.expressionHash is null " +
+            "or c.resultHash <> c.expressionHash or c.expression like '%#%'";
+    String SELECT_EXPRESSION = "select new com.szczwany.calculator.calculation.model.CalculationExpression(" +
+            "c.id, c.expression, c.expressionHash, c.result) from Calculation c";
+
+    @QueryHints({@QueryHint(name = CACHEABLE_HINT, value = "true"),
+            @QueryHint(name = CACHE_REGION_HINT, value = CALCULATIONS_BY_PROJECT_CACHE)})
     List<Calculation> findByProject(Project project);
+
+    long countByProject(Project project);
     Calculation findByProjectAndId(Project project, Long calculationId);
+
+    @Query("select c.id from Calculation c where c.project.id = :projectId and c.id in :ids")
+    List<Long> findIdsByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
+
+    List<Calculation> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+    List<Calculation> findByProjectAndIdGreaterThanOrderByIdAsc(Project project, Long afterId, Pageable pageable);
+
+    @Query(SELECT_EXPRESSION)
+    List<CalculationExpression> findExpressions();
+
+    @Query(SELECT_EXPRESSION + " where " + STALE_CONDITION)
+    List<CalculationExpression> findStaleExpressions();
+
+    @Query(SELECT_EXPRESSION + " where c.project.id = :projectId")
+    List<CalculationExpression> findExpressionsByProjectId(@Param("projectId") Long projectId);
+
+    @Query(SELECT_EXPRESSION + " where c.project.id = :projectId and (" + STALE_CONDITION + ")")
+    List<CalculationExpression> findStaleExpressionsByProjectId(@Param("projectId") Long projectId);
+
+    @Query(SELECT_EXPRESSION + " where c.project.id = :projectId and c.id = :id")
+    CalculationExpression findExpressionByProjectIdAndId(@Param("projectId") Long projectId, @Param("id") Long calculationId);
+
+    @Query(SELECT_EXPRESSION + " where c.id in :ids")
+    List<CalculationExpression> findExpressionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from Calculation c where c.project.id = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+
+    ///
+    // Streamed rows neither read nor fill the second-level cache, an export would otherwise evict the whole region
+    ///
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")})
+    @Query("select c from Calculation c order by c.id")
+    Stream<Calculation> streamAll();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = FETCH_SIZE),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")})
+    @Query("select c from Calculation c where c.project = :project order by c.id")
+    Stream<Calculation> streamByProject(@Param("project") Project project);
 }
@@ -0,0 +1,204 @@
+package com.szczwany.calculator.calculation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.szczwany.calculator.cache.service.ResultCacheService;
+import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.ImportSummary;
+import com.szczwany.calculator.dependency.exception.InvalidReferenceException;
+import com.szczwany.calculator.dependency.service.DependencyService;
+import com.szczwany.calculator.project.model.Project;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static com.szczwany.calculator.utils.Globals.*;
+
+@Service
+public class CalculationImportService implements ICalculationImportService
+{
+    private CalculationWriteService calculationWriteService;
+    private DependencyService dependencyService;
+    private ResultCacheService resultCacheService;
+    private Validator validator;
+    private ObjectReader calculationReader;
+    private int batchSize;
+
+    @Autowired
+    public CalculationImportService(CalculationWriteService calculationWriteService, DependencyService dependencyService,
+                                    ResultCacheService resultCacheService, Validator validator, ObjectMapper objectMapper,
+                                    @Value("${calculator.persistence.batch-size}") int batchSize)
+    {
+        this.calculationWriteService = calculationWriteService;
+        this.dependencyService = dependencyService;
+        this.resultCacheService = resultCacheService;
+        this.validator = validator;
+        this.calculationReader = objectMapper.readerFor(Calculation.class);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ImportSummary importCsv(Project project, InputStream body, boolean evaluate) throws IOException
+    {
+        return importRows(project, body, evaluate, CalculationImportService::parseCsvRow);
+    }
+
+    @Override
+    public ImportSummary importNdjson(Project project, InputStream body, boolean evaluate) throws IOException
+    {
+        return importRows(project, body, evaluate, this::parseNdjsonRow);
+    }
+
+    ///
+    // Reads one line at a time and keeps at most one batch in memory, each batch is committed on its own
+    ///
+    private ImportSummary importRows(Project project, InputStream body, boolean evaluate,
+                                     Function<String, Calculation> parser) throws IOException
+    {
+        ImportSummary summary = new ImportSummary();
+        List<Calculation> batch = new ArrayList<>(batchSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null)
+        {
+            lineNumber++;
+
+            if (line.trim().isEmpty() || (lineNumber == 1 && line.trim().equalsIgnoreCase(CSV_HEADER)))
+            {
+                continue;
+            }
+
+            Calculation calculation = parser.apply(line);
+            String rejection = calculation == null ? MALFORMED_ROW : validate(project, calculation);
+
+            if (rejection != null)
+            {
+                summary.reject(lineNumber, rejection);
+                continue;
+            }
+
+            calculation.setId(null);
+            calculation.setProject(project);
+            calculation.setResult(null);
+            calculation.setUpdatedAt(null);
+
+            if (evaluate)
+            {
+                evaluate(calculation, summary);
+            }
+
+            batch.add(calculation);
+
+            if (batch.size() == batchSize)
+            {
+                persist(project, batch, summary);
+            }
+        }
+
+        persist(project, batch, summary);
+
+        return summary;
+    }
+
+    ///
+    // Turns rows with missing references into rejections, the write service checks them again under the project lock
+    ///
+    private String validate(Project project, Calculation calculation)
+    {
+        Set<ConstraintViolation<Calculation>> violations = validator.validate(calculation);
+
+        if (!violations.isEmpty())
+        {
+            ConstraintViolation<Calculation> violation = violations.iterator().next();
+
+            return violation.getPropertyPath() + ": " + violation.getMessage();
+        }
+
+        try
+        {
+            dependencyService.validateReferences(project.getId(), null, calculation.getExpression());
+        }
+        catch (InvalidReferenceException e)
+        {
+            return e.getMessage();
+        }
+
+        return null;
+    }
+
+    private void evaluate(Calculation calculation, ImportSummary summary)
+    {
+        BigDecimal result = resultCacheService.evaluate(calculation.getExpression());
+
+        if (result != null)
+        {
+            calculation.setResultAndUpdatedAt(result);
+            summary.evaluated();
+        }
+    }
+
+    private void persist(Project project, List<Calculation> batch, ImportSummary summary)
+    {
+        if (batch.isEmpty())
+        {
+            return;
+        }
+
+        calculationWriteService.addCalculations(project.getId(), batch);
+        summary.accept(batch.size());
+        batch.clear();
+    }
+
+    private Calculation parseNdjsonRow(String line)
+    {
+        try
+        {
+            return calculationReader.readValue(line);
+        }
+        catch (IOException e)
+        {
+            return null;
+        }
+    }
+
+    ///
+    // Expressions never contain a separator, so the last one splits the row and descriptions may contain commas
+    ///
+    private static Calculation parseCsvRow(String line)
+    {
+        int separator = line.lastIndexOf(CSV_SEPARATOR);
+
+        if (separator < 0)
+        {
+            return null;
+        }
+
+        String description = line.substring(0, separator).trim();
+
+        if (description.length() > 1 && description.charAt(0) == CSV_QUOTE && description.charAt(description.length() - 1) == CSV_QUOTE)
+        {
+            description = description.substring(1, description.length() - 1).replace("\"\"", "\"");
+        }
+
+        Calculation calculation = new Calculation();
+        calculation.setDescription(description);
+        calculation.setExpression(line.substring(separator + 1).trim());
+
+        return calculation;
+    }
+}
@@ -2,24 +2,52 @@ package com.szczwany.calculator.calculation.service;
 
 import com.szczwany.calculator.calculation.exception.CalculationNotFoundException;
 import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.CalculationExpression;
+import com.szczwany.calculator.calculation.model.CalculationResult;
+import com.szczwany.calculator.calculation.repository.CalculationResultRepository;
 import com.szczwany.calculator.calculation.repository.ICalculationRepository;
+import com.szczwany.calculator.calculator.Calculator;
 import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.project.repository.ProjectVersionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CalculationService implements ICalculationService
 {
     private ICalculationRepository calculationRepository;
+    private CalculationResultRepository calculationResultRepository;
+    private ProjectVersionRepository projectVersionRepository;
+    private int batchSize;
+    private int maxPageSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public CalculationService(ICalculationRepository calculationRepository)
+    public CalculationService(ICalculationRepository calculationRepository, CalculationResultRepository calculationResultRepository,
+                              ProjectVersionRepository projectVersionRepository,
+                              @Value("${calculator.persistence.batch-size}") int batchSize,
+                              @Value("${calculator.paging.max-size}") int maxPageSize)
     {
         this.calculationRepository = calculationRepository;
+        this.calculationResultRepository = calculationResultRepository;
+        this.projectVersionRepository = projectVersionRepository;
+        this.batchSize = batchSize;
+        this.maxPageSize = maxPageSize;
     }
 
     @Override
@@ -31,6 +59,52 @@ public class CalculationService implements ICalculationService
         return calculations;
     }
 
+    @Override
+    public List<Calculation> getCalculations(Long afterId, int size)
+    {
+        return calculationRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageOf(size));
+    }
+
+    @Override
+    public List<CalculationExpression> getCalculationExpressions()
+    {
+        return calculationRepository.findExpressions();
+    }
+
+    @Override
+    public List<CalculationExpression> getCalculationExpressions(Collection<Long> calculationIds)
+    {
+        return calculationIds.isEmpty() ? new ArrayList<>() : calculationRepository.findExpressionsByIdIn(calculationIds);
+    }
+
+    @Override
+    public List<Long> getCalculationIds(Long projectId, Collection<Long> calculationIds)
+    {
+        return calculationRepository.findIdsByProjectIdAndIdIn(projectId, calculationIds);
+    }
+
+    @Override
+    public List<CalculationExpression> getStaleCalculationExpressions()
+    {
+        return calculationRepository.findStaleExpressions();
+    }
+
+    @Override
+    public long countCalculations()
+    {
+        return calculationRepository.count();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCalculations(Consumer<Calculation> consumer)
+    {
+        try (Stream<Calculation> calculations = calculationRepository.streamAll())
+        {
+            calculations.forEach(calculation -> consumeAndDetach(calculation, consumer));
+        }
+    }
+
     @Override
     public List<Calculation> getCalculationsByProject(Project project)
     {
@@ -38,9 +112,67 @@ public class CalculationService implements ICalculationService
     }
 
     @Override
+    public List<Calculation> getCalculationsByProject(Project project, Long afterId, int size)
+    {
+        return calculationRepository.findByProjectAndIdGreaterThanOrderByIdAsc(project, afterId, pageOf(size));
+    }
+
+    @Override
+    public List<CalculationExpression> getCalculationExpressionsByProject(Long projectId)
+    {
+        return calculationRepository.findExpressionsByProjectId(projectId);
+    }
+
+    @Override
+    public List<CalculationExpression> getStaleCalculationExpressionsByProject(Long projectId)
+    {
+        return calculationRepository.findStaleExpressionsByProjectId(projectId);
+    }
+
+    @Override
+    public long countCalculationsByProject(Project project)
+    {
+        return calculationRepository.countByProject(project);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCalculationsByProject(Project project, Consumer<Calculation> consumer)
+    {
+        try (Stream<Calculation> calculations = calculationRepository.streamByProject(project))
+        {
+            calculations.forEach(calculation -> consumeAndDetach(calculation, consumer));
+        }
+    }
+
+    @Override
+    @Transactional
     public void addCalculation(Calculation calculation)
     {
         calculationRepository.save(calculation);
+        projectVersionRepository.touch(calculation.getProject().getId());
+    }
+
+    ///
+    // Flushed and cleared every batch so inserts go out as JDBC batches and the persistence context stays small
+    ///
+    @Override
+    @Transactional
+    public void addCalculations(List<Calculation> calculations)
+    {
+        for (int from = 0; from < calculations.size(); from += batchSize)
+        {
+            calculationRepository.save(calculations.subList(from, Math.min(from + batchSize, calculations.size())));
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        if (!calculations.isEmpty())
+        {
+            projectVersionRepository.touch(calculations.stream()
+                    .map(calculation -> calculation.getProject().getId())
+                    .collect(Collectors.toSet()));
+        }
     }
 
     @Override
@@ -52,14 +184,66 @@ public class CalculationService implements ICalculationService
     }
 
     @Override
-    public void updateCalculation(Calculation calculation)
+    public CalculationExpression getCalculationExpression(Long projectId, Long calculationId)
     {
-        calculationRepository.save(calculation);
+        return Optional.ofNullable(calculationRepository.findExpressionByProjectIdAndId(projectId, calculationId))
+                .orElseThrow(() ->
+                        new CalculationNotFoundException(calculationId));
     }
 
     @Override
-    public void deleteCalculation(Long calculationId)
+    @Transactional
+    public boolean updateCalculation(Long projectId, Long calculationId, Calculation calculation)
+    {
+        return touchIfChanged(projectId, calculationResultRepository.updateCalculation(projectId, calculationId,
+                calculation.getDescription(), calculation.getExpression(), Calculator.hash(calculation.getExpression())));
+    }
+
+    @Override
+    @Transactional
+    public void updateResults(List<CalculationResult> results)
+    {
+        if (!results.isEmpty())
+        {
+            calculationResultRepository.updateResults(results);
+            projectVersionRepository.touchByCalculationIds(results.stream()
+                    .map(CalculationResult::getId)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteCalculation(Long projectId, Long calculationId)
+    {
+        return touchIfChanged(projectId, calculationResultRepository.deleteCalculation(projectId, calculationId));
+    }
+
+    @Override
+    @Transactional
+    public void deleteCalculationsByProject(Long projectId)
+    {
+        touchIfChanged(projectId, calculationRepository.deleteByProjectId(projectId));
+    }
+
+    private boolean touchIfChanged(Long projectId, int changedRows)
+    {
+        if (changedRows > 0)
+        {
+            projectVersionRepository.touch(projectId);
+        }
+
+        return changedRows > 0;
+    }
+
+    private void consumeAndDetach(Calculation calculation, Consumer<Calculation> consumer)
+    {
+        consumer.accept(calculation);
+        entityManager.detach(calculation);
+    }
+
+    private PageRequest pageOf(int size)
     {
-        calculationRepository.delete(calculationId);
+        return new PageRequest(0, Math.min(size, maxPageSize));
     }
 }
@@ -0,0 +1,126 @@
+package com.szczwany.calculator.calculation.service;
+
+import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculator.Calculator;
+import com.szczwany.calculator.dependency.service.DependencyService;
+import com.szczwany.calculator.project.repository.ProjectVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.List;
+
+///
+// A calculation and its dependency edges are written in one transaction, so a failure in either step
+// never leaves a stored expression that disagrees with the dependency graph. References are validated in the same
+// transaction under the project lock, so concurrent writes cannot close a cycle or refer to a deleted calculation
+///
+@Service
+public class CalculationWriteService implements ICalculationWriteService
+{
+    private CalculationService calculationService;
+    private DependencyService dependencyService;
+    private ProjectVersionRepository projectVersionRepository;
+
+    @Autowired
+    public CalculationWriteService(CalculationService calculationService, DependencyService dependencyService,
+                                   ProjectVersionRepository projectVersionRepository)
+    {
+        this.calculationService = calculationService;
+        this.dependencyService = dependencyService;
+        this.projectVersionRepository = projectVersionRepository;
+    }
+
+    @Override
+    @Transactional
+    public void addCalculation(Long projectId, Calculation calculation)
+    {
+        projectVersionRepository.lock(projectId);
+        dependencyService.validateReferences(projectId, null, calculation.getExpression());
+        calculationService.addCalculation(calculation);
+        dependencyService.saveDependencies(projectId, calculation.getId(), calculation.getExpression());
+    }
+
+    @Override
+    @Transactional
+    public void addCalculations(Long projectId, List<Calculation> calculations)
+    {
+        projectVersionRepository.lock(projectId);
+        calculations.forEach(calculation -> dependencyService.validateReferences(projectId, null, calculation.getExpression()));
+        calculationService.addCalculations(calculations);
+
+        calculations.stream()
+                .filter(calculation -> !Calculator.references(calculation.getExpression()).isEmpty())
+                .forEach(calculation -> dependencyService.saveDependencies(projectId, calculation.getId(), calculation.getExpression()));
+    }
+
+    ///
+    // A missing calculation is reported before the references in the new expression are looked at
+    ///
+    @Override
+    @Transactional
+    public boolean updateCalculation(Long projectId, Long calculationId, Calculation calculation)
+    {
+        projectVersionRepository.lock(projectId);
+
+        if (calculationService.getCalculationIds(projectId, Collections.singletonList(calculationId)).isEmpty())
+        {
+            return false;
+        }
+
+        dependencyService.validateReferences(projectId, calculationId, calculation.getExpression());
+
+        if (!calculationService.updateCalculation(projectId, calculationId, calculation))
+        {
+            return false;
+        }
+
+        dependencyService.saveDependencies(projectId, calculationId, calculation.getExpression());
+        afterCommit(() -> dependencyService.propagateChange(projectId, calculationId));
+
+        return true;
+    }
+
+    ///
+    // Rolled back with a conflict when other calculations still refer to the deleted one
+    ///
+    @Override
+    @Transactional
+    public boolean deleteCalculation(Long projectId, Long calculationId)
+    {
+        projectVersionRepository.lock(projectId);
+
+        if (!calculationService.deleteCalculation(projectId, calculationId))
+        {
+            return false;
+        }
+
+        dependencyService.deleteDependencies(calculationId);
+
+        return true;
+    }
+
+    ///
+    // Dependents are evaluated against committed data only, without a transaction it runs right away
+    ///
+    private static void afterCommit(Runnable action)
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+        {
+            @Override
+            public void afterCommit()
+            {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.szczwany.calculator.calculation.service;
+
+import com.szczwany.calculator.calculation.model.ImportSummary;
+import com.szczwany.calculator.project.model.Project;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ICalculationImportService
+{
+    ImportSummary importCsv(Project project, InputStream body, boolean evaluate) throws IOException;
+    ImportSummary importNdjson(Project project, InputStream body, boolean evaluate) throws IOException;
+}
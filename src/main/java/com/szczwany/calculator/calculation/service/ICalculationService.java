@@ -1,16 +1,36 @@
 package com.szczwany.calculator.calculation.service;
 
 import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.CalculationExpression;
+import com.szczwany.calculator.calculation.model.CalculationResult;
 import com.szczwany.calculator.project.model.Project;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ICalculationService
 {
     List<Calculation> getCalculations();
+    List<Calculation> getCalculations(Long afterId, int size);
+    List<CalculationExpression> getCalculationExpressions();
+    List<CalculationExpression> getCalculationExpressions(Collection<Long> calculationIds);
+    List<Long> getCalculationIds(Long projectId, Collection<Long> calculationIds);
+    List<CalculationExpression> getStaleCalculationExpressions();
+    long countCalculations();
+    void streamCalculations(Consumer<Calculation> consumer);
     List<Calculation> getCalculationsByProject(Project project);
+    List<Calculation> getCalculationsByProject(Project project, Long afterId, int size);
+    List<CalculationExpression> getCalculationExpressionsByProject(Long projectId);
+    List<CalculationExpression> getStaleCalculationExpressionsByProject(Long projectId);
+    long countCalculationsByProject(Project project);
+    void streamCalculationsByProject(Project project, Consumer<Calculation> consumer);
     void addCalculation(Calculation calculation);
+    void addCalculations(List<Calculation> calculations);
     Calculation getCalculation(Project project, Long calculationId);
-    void updateCalculation(Calculation calculation);
-    void deleteCalculation(Long calculationId);
+    CalculationExpression getCalculationExpression(Long projectId, Long calculationId);
+    boolean updateCalculation(Long projectId, Long calculationId, Calculation calculation);
+    void updateResults(List<CalculationResult> results);
+    boolean deleteCalculation(Long projectId, Long calculationId);
+    void deleteCalculationsByProject(Long projectId);
 }
@@ -0,0 +1,13 @@
+package com.szczwany.calculator.calculation.service;
+
+import com.szczwany.calculator.calculation.model.Calculation;
+
+import java.util.List;
+
+public interface ICalculationWriteService
+{
+    void addCalculation(Long projectId, Calculation calculation);
+    void addCalculations(Long projectId, List<Calculation> calculations);
+    boolean updateCalculation(Long projectId, Long calculationId, Calculation calculation);
+    boolean deleteCalculation(Long projectId, Long calculationId);
+}
@@ -0,0 +1,12 @@
+package com.szczwany.calculator.calculation.service;
+
+import com.szczwany.calculator.calculation.model.CalculationExpression;
+import com.szczwany.calculator.job.model.Job;
+
+import java.util.List;
+
+public interface IResultService
+{
+    Job evaluateCalculations(List<CalculationExpression> calculations);
+    Job evaluateCalculations(List<CalculationExpression> calculations, Long timeoutMilliseconds);
+}
@@ -0,0 +1,91 @@
+package com.szczwany.calculator.calculation.service;
+
+import com.szczwany.calculator.cache.service.ResultCacheService;
+import com.szczwany.calculator.calculation.model.CalculationExpression;
+import com.szczwany.calculator.calculation.model.ResultThread;
+import com.szczwany.calculator.dependency.service.DependencyService;
+import com.szczwany.calculator.job.model.Job;
+import com.szczwany.calculator.job.service.JobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static com.szczwany.calculator.utils.Globals.EVALUATION_EXECUTOR;
+import static com.szczwany.calculator.utils.Globals.REFERENCE_SIGN;
+
+@Service
+public class ResultService implements IResultService
+{
+    private CalculationService calculationService;
+    private ResultCacheService resultCacheService;
+    private DependencyService dependencyService;
+    private JobService jobService;
+    private Executor evaluationExecutor;
+    private int chunkSize;
+
+    @Autowired
+    public ResultService(CalculationService calculationService, ResultCacheService resultCacheService,
+                         DependencyService dependencyService, JobService jobService,
+                         @Qualifier(EVALUATION_EXECUTOR) Executor evaluationExecutor,
+                         @Value("${calculator.evaluation.chunk-size}") int chunkSize)
+    {
+        this.calculationService = calculationService;
+        this.resultCacheService = resultCacheService;
+        this.dependencyService = dependencyService;
+        this.jobService = jobService;
+        this.evaluationExecutor = evaluationExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Job evaluateCalculations(List<CalculationExpression> calculations)
+    {
+        return evaluateCalculations(calculations, null);
+    }
+
+    ///
+    // Calculations with references are evaluated after all the others, in dependency order,
+    // a job cancelled or past its deadline skips the remaining chunks
+    ///
+    @Override
+    public Job evaluateCalculations(List<CalculationExpression> allCalculations, Long timeoutMilliseconds)
+    {
+        Job job = jobService.createJob(allCalculations.size(), timeoutMilliseconds);
+        Map<Boolean, List<CalculationExpression>> byReferences = allCalculations.stream()
+                .collect(Collectors.partitioningBy(calculation -> calculation.getExpression().indexOf(REFERENCE_SIGN) >= 0));
+        List<CalculationExpression> calculations = byReferences.get(false);
+        List<CalculationExpression> referencingCalculations = byReferences.get(true);
+        CompletableFuture<?>[] chunks = new CompletableFuture<?>[(calculations.size() + chunkSize - 1) / chunkSize];
+
+        for (int i = 0; i < chunks.length; i++)
+        {
+            List<CalculationExpression> chunk = calculations.subList(i * chunkSize, Math.min((i + 1) * chunkSize, calculations.size()));
+            ResultThread resultWorker = new ResultThread(chunk, calculationService, resultCacheService, job);
+
+            chunks[i] = CompletableFuture.runAsync(resultWorker, evaluationExecutor);
+        }
+
+        CompletableFuture.allOf(chunks).thenCompose(result -> referencingCalculations.isEmpty() || job.isCancelRequested() ?
+                CompletableFuture.completedFuture(null) :
+                dependencyService.evaluateInOrder(referencingCalculations, calculations, job)).whenComplete((result, throwable) ->
+        {
+            if (throwable != null)
+            {
+                job.fail(throwable);
+            }
+            else
+            {
+                job.complete();
+            }
+        });
+
+        return job;
+    }
+}
@@ -0,0 +1,92 @@
+package com.szczwany.calculator.calculator;
+
+import com.szczwany.calculator.calculator.math.Token;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+import static com.szczwany.calculator.utils.Globals.*;
+
+///
+// RPN program evaluated on a BigDecimal stack, every operator is applied once to values already on the stack,
+// no tree is built and nothing is evaluated recursively
+///
+final class BigDecimalProgram
+{
+    private static final int DIVIDE_SCALE = 2;
+
+    private final char[] operators;
+    private final BigDecimal[] values;
+    private final int maxDepth;
+
+    private BigDecimalProgram(char[] operators, BigDecimal[] values, int maxDepth)
+    {
+        this.operators = operators;
+        this.values = values;
+        this.maxDepth = maxDepth;
+    }
+
+    static BigDecimalProgram of(List<Token> rpn)
+    {
+        char[] operators = new char[rpn.size()];
+        BigDecimal[] values = new BigDecimal[rpn.size()];
+        int depth = 0, maxDepth = 0;
+
+        for (int i = 0; i < rpn.size(); i++)
+        {
+            Token token = rpn.get(i);
+
+            if (token.isOperator())
+            {
+                operators[i] = token.getOperator();
+                depth--;
+            }
+            else
+            {
+                values[i] = token.getValue();
+                maxDepth = Math.max(maxDepth, ++depth);
+            }
+        }
+
+        return new BigDecimalProgram(operators, values, maxDepth);
+    }
+
+    BigDecimal evaluate()
+    {
+        BigDecimal[] stack = new BigDecimal[maxDepth];
+        int top = -1;
+
+        for (int i = 0; i < operators.length; i++)
+        {
+            if (operators[i] == 0)
+            {
+                stack[++top] = values[i];
+                continue;
+            }
+
+            BigDecimal right = stack[top--];
+            BigDecimal left = stack[top];
+
+            switch (operators[i])
+            {
+                case PLUS_SIGN:
+                    stack[top] = left.add(right);
+                    break;
+                case MINUS_SIGN:
+                    stack[top] = left.subtract(right);
+                    break;
+                case MULTIPLY_SIGN:
+                    stack[top] = left.multiply(right);
+                    break;
+                case DIVIDE_SIGN:
+                    stack[top] = left.divide(right, DIVIDE_SCALE, RoundingMode.HALF_UP);
+                    break;
+                default:
+                    throw new IllegalStateException("unknown operator " + operators[i]);
+            }
+        }
+
+        return stack[0];
+    }
+}
@@ -1,20 +1,25 @@
 package com.szczwany.calculator.calculator;
 
-import com.szczwany.calculator.calculator.math.IMathSign;
+import com.szczwany.calculator.calculator.math.ExpressionScanner;
+import com.szczwany.calculator.calculator.math.ExpressionValidator;
 import com.szczwany.calculator.calculator.math.InfixToRPNConverter;
-import com.szczwany.calculator.calculator.math.operand.Number;
-import com.szczwany.calculator.calculator.math.operator.Divide;
-import com.szczwany.calculator.calculator.math.operator.Minus;
-import com.szczwany.calculator.calculator.math.operator.Multiply;
-import com.szczwany.calculator.calculator.math.operator.Plus;
+import com.szczwany.calculator.calculator.math.Token;
 
 import java.math.BigDecimal;
-import java.util.Stack;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongFunction;
 
 import static com.szczwany.calculator.utils.Globals.*;
 
 public final class Calculator
 {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
     private Calculator()
     {
 
@@ -22,59 +27,164 @@ public final class Calculator
 
     public static BigDecimal calculate(String expression)
     {
-        InfixToRPNConverter infixToRPNConverter = new InfixToRPNConverter();
+        CompiledExpression compiledExpression = compile(expression);
+
+        return compiledExpression != null ? compiledExpression.evaluate() : null;
+    }
+
+    public static CompiledExpression compile(String expression)
+    {
+        return compile(expression, calculationId -> null);
+    }
+
+    ///
+    // References (#id) are replaced with the values given by references, an unknown reference makes the expression invalid
+    ///
+    public static CompiledExpression compile(String expression, LongFunction<BigDecimal> references)
+    {
+        ParsedExpression parsedExpression = parse(expression);
+
+        return parsedExpression != null ? parsedExpression.compile(references) : null;
+    }
+
+    ///
+    // Validation and conversion to RPN only, the part of compiling that does not depend on referenced values
+    ///
+    public static ParsedExpression parse(String expression)
+    {
+        if (!ExpressionValidator.isValid(expression))
+        {
+            return null;
+        }
+
+        List<Token> rpn = Collections.unmodifiableList(new InfixToRPNConverter().infixToRPN(expression));
+
+        return new ParsedExpression(expression, rpn, hasReferences(expression));
+    }
+
+    static CompiledExpression bind(String expression, List<Token> rpn, LongFunction<BigDecimal> references)
+    {
+        List<Token> elementsInExpression = resolveReferences(rpn, references);
 
-        if (expression == null || expression.length() == 0 || !expression.matches(MATH_EXPRESSION_REGEX))
+        if (elementsInExpression == null || dividesByZero(elementsInExpression))
         {
             return null;
         }
 
-        Stack<IMathSign> numbers = new Stack<>();
-        Stack<String> elementsInExpression = infixToRPNConverter.infixToRPN(expression);
-        IMathSign first, second;
+        return new CompiledExpression(expression, BigDecimalProgram.of(elementsInExpression),
+                FixedPointProgram.of(elementsInExpression), elementsInExpression != rpn);
+    }
+
+    public static boolean hasReferences(String expression)
+    {
+        return expression.indexOf(REFERENCE_SIGN) >= 0;
+    }
 
-        for(String element : elementsInExpression)
+    public static Set<Long> references(String expression)
+    {
+        Set<Long> references = new LinkedHashSet<>();
+        ExpressionScanner scanner = new ExpressionScanner(expression);
+
+        while (scanner.hasNext())
         {
-            if (!isOperator(element))
+            Token token = scanner.next();
+
+            if (token.isReference())
             {
-                numbers.push(new Number(new BigDecimal(element)));
+                references.add(token.getReference());
             }
-            else
+        }
+
+        return references;
+    }
+
+    private static List<Token> resolveReferences(List<Token> rpn, LongFunction<BigDecimal> references)
+    {
+        List<Token> resolved = rpn;
+
+        for (int i = 0; i < rpn.size(); i++)
+        {
+            Token token = rpn.get(i);
+
+            if (token.isReference())
             {
-                second = numbers.pop();
-                first = numbers.pop();
+                BigDecimal value = references.apply(token.getReference());
 
-                if(second.execute().equals(BigDecimal.ZERO) && element.equals(DIVIDE_SIGN))
+                if (value == null)
                 {
                     return null;
                 }
 
-                numbers.push(getOperation(first, second, element));
+                if (resolved == rpn)
+                {
+                    resolved = new ArrayList<>(rpn);
+                }
+
+                resolved.set(i, Token.number(value, token.getPosition()));
+            }
+        }
+
+        return resolved;
+    }
+
+    ///
+    // Without parentheses the divisor is always the single number right before '/', nothing has to be evaluated
+    // to find a zero; a computed zero divisor would fail with ArithmeticException when evaluated
+    ///
+    private static boolean dividesByZero(List<Token> rpn)
+    {
+        for (int i = 1; i < rpn.size(); i++)
+        {
+            Token divisor = rpn.get(i - 1);
+
+            if (rpn.get(i).isOperator() && rpn.get(i).getOperator() == DIVIDE_SIGN &&
+                    !divisor.isOperator() && divisor.getValue().signum() == 0)
+            {
+                return true;
             }
         }
 
-        return numbers.pop().execute();
+        return false;
     }
 
-    private static IMathSign getOperation(IMathSign first, IMathSign second, String element)
+    ///
+    // Drops redundant leading zeros of every number, values and scales stay the same so results are identical
+    ///
+    public static String normalize(String expression)
     {
-        switch (element)
+        StringBuilder normalized = new StringBuilder(expression.length());
+        boolean numberStart = true;
+
+        for (int i = 0; i < expression.length(); i++)
         {
-            case PLUS_SIGN:
-                return new Plus(first, second);
-            case MINUS_SIGN:
-                return new Minus(first, second);
-            case MULTIPLY_SIGN:
-                return new Multiply(first, second);
-            case DIVIDE_SIGN:
-                return new Divide(first, second);
-            default:
-                return null;
+            char character = expression.charAt(i);
+            boolean redundantZero = numberStart && character == '0' &&
+                    i + 1 < expression.length() && Character.isDigit(expression.charAt(i + 1));
+
+            if (!redundantZero)
+            {
+                normalized.append(character);
+                numberStart = !Character.isDigit(character) && character != DOT_SIGN;
+            }
         }
+
+        return normalized.toString();
     }
 
-    public static boolean isOperator(String s)
+    ///
+    // 64-bit FNV-1a of the normalized expression, equal hashes mean equal results
+    ///
+    public static long hash(String expression)
     {
-        return s.matches(OPERATOR_REGEX);
+        String normalized = normalize(expression);
+        long hash = FNV_OFFSET_BASIS;
+
+        for (int i = 0; i < normalized.length(); i++)
+        {
+            hash ^= normalized.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package com.szczwany.calculator.calculator;
+
+import java.math.BigDecimal;
+
+public final class CompiledExpression
+{
+    private final String expression;
+    private final BigDecimalProgram bigDecimalProgram;
+    private final FixedPointProgram fixedPointProgram;
+    private final boolean references;
+
+    CompiledExpression(String expression, BigDecimalProgram bigDecimalProgram, FixedPointProgram fixedPointProgram,
+                       boolean references)
+    {
+        this.expression = expression;
+        this.bigDecimalProgram = bigDecimalProgram;
+        this.fixedPointProgram = fixedPointProgram;
+        this.references = references;
+    }
+
+    public String getExpression()
+    {
+        return expression;
+    }
+
+    public boolean hasReferences()
+    {
+        return references;
+    }
+
+    public BigDecimal evaluate()
+    {
+        if (fixedPointProgram != null)
+        {
+            try
+            {
+                return fixedPointProgram.evaluate();
+            }
+            catch (ArithmeticException e)
+            {
+                // overflow of the long path, BigDecimal program below gives the exact result
+            }
+        }
+
+        return evaluateBigDecimal();
+    }
+
+    BigDecimal evaluateBigDecimal()
+    {
+        return bigDecimalProgram.evaluate();
+    }
+}
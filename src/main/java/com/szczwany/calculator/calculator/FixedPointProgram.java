@@ -0,0 +1,156 @@
+package com.szczwany.calculator.calculator;
+
+import com.szczwany.calculator.calculator.math.Token;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.szczwany.calculator.utils.Globals.*;
+
+///
+// RPN program evaluated on scaled longs (unscaled value + scale, like BigDecimal), results are bit-identical
+// to BigDecimalProgram, ArithmeticException means the value does not fit and BigDecimalProgram has to be used
+///
+final class FixedPointProgram
+{
+    private static final int DIVIDE_SCALE = 2;
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static
+    {
+        POWERS_OF_TEN[0] = 1;
+
+        for (int i = 1; i < POWERS_OF_TEN.length; i++)
+        {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final char[] operators;
+    private final long[] unscaledValues;
+    private final int[] scales;
+    private final int maxDepth;
+
+    private FixedPointProgram(char[] operators, long[] unscaledValues, int[] scales, int maxDepth)
+    {
+        this.operators = operators;
+        this.unscaledValues = unscaledValues;
+        this.scales = scales;
+        this.maxDepth = maxDepth;
+    }
+
+    static FixedPointProgram of(List<Token> rpn)
+    {
+        char[] operators = new char[rpn.size()];
+        long[] unscaledValues = new long[rpn.size()];
+        int[] scales = new int[rpn.size()];
+        int depth = 0, maxDepth = 0;
+
+        for (int i = 0; i < rpn.size(); i++)
+        {
+            Token token = rpn.get(i);
+
+            if (token.isOperator())
+            {
+                operators[i] = token.getOperator();
+                depth--;
+            }
+            else
+            {
+                BigDecimal value = token.getValue();
+
+                if (value.scale() < 0 || value.scale() >= POWERS_OF_TEN.length || value.unscaledValue().bitLength() > 63)
+                {
+                    return null;
+                }
+
+                unscaledValues[i] = value.unscaledValue().longValue();
+                scales[i] = value.scale();
+                maxDepth = Math.max(maxDepth, ++depth);
+            }
+        }
+
+        return new FixedPointProgram(operators, unscaledValues, scales, maxDepth);
+    }
+
+    BigDecimal evaluate()
+    {
+        long[] valueStack = new long[maxDepth];
+        int[] scaleStack = new int[maxDepth];
+        int top = -1;
+
+        for (int i = 0; i < operators.length; i++)
+        {
+            if (operators[i] == 0)
+            {
+                top++;
+                valueStack[top] = unscaledValues[i];
+                scaleStack[top] = scales[i];
+                continue;
+            }
+
+            long right = valueStack[top], left = valueStack[top - 1];
+            int rightScale = scaleStack[top], leftScale = scaleStack[top - 1];
+            top--;
+
+            switch (operators[i])
+            {
+                case PLUS_SIGN:
+                case MINUS_SIGN:
+                    int scale = Math.max(leftScale, rightScale);
+                    left = Math.multiplyExact(left, powerOfTen(scale - leftScale));
+                    right = Math.multiplyExact(right, powerOfTen(scale - rightScale));
+                    valueStack[top] = operators[i] == PLUS_SIGN ? Math.addExact(left, right) : Math.subtractExact(left, right);
+                    scaleStack[top] = scale;
+                    break;
+                case MULTIPLY_SIGN:
+                    valueStack[top] = Math.multiplyExact(left, right);
+                    scaleStack[top] = leftScale + rightScale;
+                    break;
+                case DIVIDE_SIGN:
+                    valueStack[top] = divide(left, leftScale, right, rightScale);
+                    scaleStack[top] = DIVIDE_SCALE;
+                    break;
+                default:
+                    throw new IllegalStateException("unknown operator " + operators[i]);
+            }
+        }
+
+        return BigDecimal.valueOf(valueStack[0], scaleStack[0]);
+    }
+
+    ///
+    // left / right rounded HALF_UP to DIVIDE_SCALE, same as BigDecimal.divide(right, 2, RoundingMode.HALF_UP)
+    ///
+    private static long divide(long left, int leftScale, long right, int rightScale)
+    {
+        int shift = DIVIDE_SCALE - leftScale + rightScale;
+        long dividend = shift > 0 ? Math.multiplyExact(left, powerOfTen(shift)) : left;
+        long divisor = shift < 0 ? Math.multiplyExact(right, powerOfTen(-shift)) : right;
+
+        if (divisor == 0 || divisor == Long.MIN_VALUE || dividend == Long.MIN_VALUE)
+        {
+            throw new ArithmeticException("division not representable on long");
+        }
+
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+
+        if (remainder >= Math.abs(divisor) - remainder)
+        {
+            quotient = Math.addExact(quotient, (dividend < 0) == (divisor < 0) ? 1 : -1);
+        }
+
+        return quotient;
+    }
+
+    private static long powerOfTen(int exponent)
+    {
+        if (exponent >= POWERS_OF_TEN.length)
+        {
+            throw new ArithmeticException("10^" + exponent + " does not fit in long");
+        }
+
+        return POWERS_OF_TEN[exponent];
+    }
+}
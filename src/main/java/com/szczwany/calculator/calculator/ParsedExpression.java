@@ -0,0 +1,42 @@
+package com.szczwany.calculator.calculator;
+
+import com.szczwany.calculator.calculator.math.Token;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.LongFunction;
+
+///
+// Validated RPN of an expression, immutable and safe to share between threads; references are bound on every
+// compile, an expression without references is compiled once
+///
+public final class ParsedExpression
+{
+    private final String expression;
+    private final List<Token> rpn;
+    private final boolean references;
+    private final CompiledExpression compiledExpression;
+
+    ParsedExpression(String expression, List<Token> rpn, boolean references)
+    {
+        this.expression = expression;
+        this.rpn = rpn;
+        this.references = references;
+        this.compiledExpression = references ? null : Calculator.bind(expression, rpn, calculationId -> null);
+    }
+
+    public String getExpression()
+    {
+        return expression;
+    }
+
+    public boolean hasReferences()
+    {
+        return references;
+    }
+
+    public CompiledExpression compile(LongFunction<BigDecimal> references)
+    {
+        return this.references ? Calculator.bind(expression, rpn, references) : compiledExpression;
+    }
+}
@@ -0,0 +1,73 @@
+package com.szczwany.calculator.calculator.math;
+
+import java.math.BigDecimal;
+
+import static com.szczwany.calculator.utils.Globals.*;
+
+public class ExpressionScanner
+{
+    private final char[] characters;
+    private int position;
+
+    public ExpressionScanner(String expression)
+    {
+        this.characters = expression.toCharArray();
+        this.position = 0;
+    }
+
+    public boolean hasNext()
+    {
+        return position < characters.length;
+    }
+
+    ///
+    // Single pass over the characters, a leading minus belongs to the first number, #id is a reference
+    ///
+    public Token next()
+    {
+        int start = position;
+        char character = characters[position];
+
+        if (isOperator(character) && !(character == MINUS_SIGN && start == 0))
+        {
+            position++;
+
+            return Token.operator(character, start);
+        }
+
+        position++;
+
+        if (character == REFERENCE_SIGN)
+        {
+            long calculationId = 0;
+
+            while (position < characters.length && !isOperator(characters[position]))
+            {
+                calculationId = calculationId * 10 + (characters[position++] - '0');
+            }
+
+            return Token.reference(calculationId, start);
+        }
+
+        while (position < characters.length && !isOperator(characters[position]))
+        {
+            position++;
+        }
+
+        return Token.number(new BigDecimal(characters, start, position - start), start);
+    }
+
+    public static boolean isOperator(char character)
+    {
+        switch (character)
+        {
+            case PLUS_SIGN:
+            case MINUS_SIGN:
+            case MULTIPLY_SIGN:
+            case DIVIDE_SIGN:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
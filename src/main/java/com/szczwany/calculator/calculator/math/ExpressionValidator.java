@@ -0,0 +1,128 @@
+package com.szczwany.calculator.calculator.math;
+
+import static com.szczwany.calculator.utils.Globals.*;
+
+public final class ExpressionValidator
+{
+    public static final int VALID = -1;
+
+    private static final int START = 0;
+    private static final int SIGN = 1;
+    private static final int INTEGER = 2;
+    private static final int DOT = 3;
+    private static final int FIRST_DECIMAL = 4;
+    private static final int SECOND_DECIMAL = 5;
+    private static final int OPERATOR = 6;
+    private static final int REFERENCE_SIGN_READ = 7;
+    private static final int REFERENCE = 8;
+
+    private ExpressionValidator()
+    {
+
+    }
+
+    public static boolean isValid(CharSequence expression)
+    {
+        return findError(expression) == VALID;
+    }
+
+    ///
+    // State machine for (-?N|R)([-+*/](N|R))+ where N is [0-9]+(\.[0-9]{1,2})? and R is #[0-9]{1,18}
+    // Every character is visited once, returns position of the first invalid character or VALID
+    ///
+    public static int findError(CharSequence expression)
+    {
+        if (expression == null)
+        {
+            return 0;
+        }
+
+        int state = START;
+        boolean hasOperator = false;
+        int referenceDigits = 0;
+
+        for (int position = 0; position < expression.length(); position++)
+        {
+            char character = expression.charAt(position);
+            boolean digit = character >= '0' && character <= '9';
+            boolean operator = ExpressionScanner.isOperator(character);
+
+            switch (state)
+            {
+                case START:
+                case OPERATOR:
+                    if (character == REFERENCE_SIGN)
+                    {
+                        state = REFERENCE_SIGN_READ;
+                        referenceDigits = 0;
+                        break;
+                    }
+
+                    if (state == START && character == MINUS_SIGN)
+                    {
+                        state = SIGN;
+                        break;
+                    }
+
+                    if (!digit)
+                    {
+                        return position;
+                    }
+
+                    state = INTEGER;
+                    break;
+                case REFERENCE_SIGN_READ:
+                case REFERENCE:
+                    if (operator && state == REFERENCE)
+                    {
+                        state = OPERATOR;
+                        hasOperator = true;
+                    }
+                    else if (digit && referenceDigits < MAX_REFERENCE_DIGITS)
+                    {
+                        state = REFERENCE;
+                        referenceDigits++;
+                    }
+                    else
+                    {
+                        return position;
+                    }
+                    break;
+                case SIGN:
+                case DOT:
+                    if (!digit)
+                    {
+                        return position;
+                    }
+
+                    state = state == DOT ? FIRST_DECIMAL : INTEGER;
+                    break;
+                case INTEGER:
+                case FIRST_DECIMAL:
+                case SECOND_DECIMAL:
+                    if (operator)
+                    {
+                        state = OPERATOR;
+                        hasOperator = true;
+                    }
+                    else if (digit && state != SECOND_DECIMAL)
+                    {
+                        state = state == FIRST_DECIMAL ? SECOND_DECIMAL : INTEGER;
+                    }
+                    else if (character == DOT_SIGN && state == INTEGER)
+                    {
+                        state = DOT;
+                    }
+                    else
+                    {
+                        return position;
+                    }
+                    break;
+            }
+        }
+
+        boolean endsWithNumber = state == INTEGER || state == FIRST_DECIMAL || state == SECOND_DECIMAL || state == REFERENCE;
+
+        return hasOperator && endsWithNumber ? VALID : expression.length();
+    }
+}
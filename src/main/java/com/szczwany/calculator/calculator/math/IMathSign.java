@@ -1,8 +0,0 @@
-package com.szczwany.calculator.calculator.math;
-
-import java.math.BigDecimal;
-
-public interface IMathSign
-{
-    BigDecimal execute();
-}
@@ -1,99 +1,52 @@
 package com.szczwany.calculator.calculator.math;
 
-import com.szczwany.calculator.calculator.Calculator;
-
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Stack;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 
 import static com.szczwany.calculator.utils.Globals.*;
 
 public class InfixToRPNConverter
 {
-    private Map<String, Integer> precedence;
-    private Stack<String> queue;
-    private Stack<String> stack;
-    private StringBuilder number;
-
-    public InfixToRPNConverter()
-    {
-        initConverter();
-        initPrecedence();
-    }
-
-    private void initConverter()
-    {
-        precedence = new HashMap<>();
-        queue = new Stack<>();
-        stack = new Stack<>();
-        number = new StringBuilder();
-    }
-
-    private void initPrecedence()
-    {
-        precedence.put(PLUS_SIGN, 0);
-        precedence.put(MINUS_SIGN, 0);
-        precedence.put(MULTIPLY_SIGN, 1);
-        precedence.put(DIVIDE_SIGN, 1);
-    }
-
     ///
     // Reverse Polish Notation algorithm :D + decimal numbers
     ///
-    public Stack<String> infixToRPN(String expression)
+    public List<Token> infixToRPN(String expression)
     {
-        String[] elementsInExpression = expression.split("");
+        ExpressionScanner scanner = new ExpressionScanner(expression);
+        List<Token> queue = new ArrayList<>();
+        Deque<Token> stack = new ArrayDeque<>();
 
-        boolean negative = false;
-
-        if (elementsInExpression[0].equals(MINUS_SIGN))
+        while (scanner.hasNext())
         {
-            number.append('-');
-            negative = true;
-        }
+            Token token = scanner.next();
 
-        for (String element : elementsInExpression)
-        {
-            if (negative)
+            if (token.isOperator())
             {
-                negative = false;
-
-                continue;
-            }
-
-            if (Calculator.isOperator(element))
-            {
-                saveNumber();
-
-                while (!stack.empty() &&
-                        (precedence.get(stack.peek()) >= precedence.get(element)))
+                while (!stack.isEmpty() &&
+                        (precedence(stack.peek().getOperator()) >= precedence(token.getOperator())))
                 {
-                    queue.push(stack.pop());
+                    queue.add(stack.pop());
                 }
 
-                stack.push(element);
+                stack.push(token);
             } else
             {
-                number.append(element);
+                queue.add(token);
             }
         }
 
-        if (number.length() > 0)
-        {
-            saveNumber();
-        }
-
-        while (!stack.empty())
+        while (!stack.isEmpty())
         {
-            queue.push(stack.pop());
+            queue.add(stack.pop());
         }
 
         return queue;
     }
 
-    private void saveNumber()
+    private static int precedence(char operator)
     {
-        queue.push(number.toString());
-        number.setLength(0);
+        return operator == MULTIPLY_SIGN || operator == DIVIDE_SIGN ? 1 : 0;
     }
 }
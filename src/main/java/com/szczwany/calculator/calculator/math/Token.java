@@ -0,0 +1,71 @@
+package com.szczwany.calculator.calculator.math;
+
+import java.math.BigDecimal;
+
+public final class Token
+{
+    private final TokenType type;
+    private final int position;
+    private final BigDecimal value;
+    private final char operator;
+    private final long reference;
+
+    private Token(TokenType type, int position, BigDecimal value, char operator, long reference)
+    {
+        this.type = type;
+        this.position = position;
+        this.value = value;
+        this.operator = operator;
+        this.reference = reference;
+    }
+
+    public static Token number(BigDecimal value, int position)
+    {
+        return new Token(TokenType.NUMBER, position, value, '\0', 0);
+    }
+
+    public static Token reference(long calculationId, int position)
+    {
+        return new Token(TokenType.REFERENCE, position, null, '\0', calculationId);
+    }
+
+    public static Token operator(char operator, int position)
+    {
+        return new Token(TokenType.OPERATOR, position, null, operator, 0);
+    }
+
+    public TokenType getType()
+    {
+        return type;
+    }
+
+    public int getPosition()
+    {
+        return position;
+    }
+
+    public BigDecimal getValue()
+    {
+        return value;
+    }
+
+    public char getOperator()
+    {
+        return operator;
+    }
+
+    public long getReference()
+    {
+        return reference;
+    }
+
+    public boolean isReference()
+    {
+        return type == TokenType.REFERENCE;
+    }
+
+    public boolean isOperator()
+    {
+        return type == TokenType.OPERATOR;
+    }
+}
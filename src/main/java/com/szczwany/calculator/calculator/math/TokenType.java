@@ -0,0 +1,8 @@
+package com.szczwany.calculator.calculator.math;
+
+public enum TokenType
+{
+    NUMBER,
+    REFERENCE,
+    OPERATOR
+}
@@ -0,0 +1,36 @@
+package com.szczwany.calculator.calculator.validation;
+
+import com.szczwany.calculator.calculator.math.ExpressionValidator;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+public class MathExpressionValidator implements ConstraintValidator<MathExpression, String>
+{
+    @Override
+    public void initialize(MathExpression constraintAnnotation)
+    {
+    }
+
+    @Override
+    public boolean isValid(String expression, ConstraintValidatorContext context)
+    {
+        if (expression == null)
+        {
+            return true;
+        }
+
+        int errorPosition = ExpressionValidator.findError(expression);
+
+        if (errorPosition == ExpressionValidator.VALID)
+        {
+            return true;
+        }
+
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate("invalid math expression at position " + errorPosition)
+                .addConstraintViolation();
+
+        return false;
+    }
+}
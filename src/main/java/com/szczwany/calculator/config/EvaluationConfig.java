@@ -0,0 +1,48 @@
+package com.szczwany.calculator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static com.szczwany.calculator.utils.Globals.EVALUATION_EXECUTOR;
+import static com.szczwany.calculator.utils.Globals.STATELESS_EVALUATION_EXECUTOR;
+
+@Configuration
+public class EvaluationConfig
+{
+    @Bean(name = EVALUATION_EXECUTOR)
+    public ThreadPoolTaskExecutor evaluationExecutor(@Value("${calculator.evaluation.pool-size}") int poolSize,
+                                                     @Value("${calculator.evaluation.queue-capacity}") int queueCapacity)
+    {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("evaluation-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+
+        return executor;
+    }
+
+    ///
+    // Chunks of POST /v1/evaluate batches run on their own small pool, a large batch cannot starve recompute jobs
+    // and a long recompute cannot delay interactive requests; a full queue makes the request thread evaluate
+    ///
+    @Bean(name = STATELESS_EVALUATION_EXECUTOR)
+    public ThreadPoolTaskExecutor statelessEvaluationExecutor(@Value("${calculator.evaluate.pool-size}") int poolSize,
+                                                              @Value("${calculator.evaluate.queue-capacity}") int queueCapacity)
+    {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("evaluate-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+
+        return executor;
+    }
+}
@@ -0,0 +1,27 @@
+package com.szczwany.calculator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static com.szczwany.calculator.utils.Globals.EXPORT_EXECUTOR;
+
+@Configuration
+public class ExportConfig
+{
+    ///
+    // Exports are IO bound and long running, kept away from the evaluation pool
+    ///
+    @Bean(name = EXPORT_EXECUTOR)
+    public ThreadPoolTaskExecutor exportExecutor(@Value("${calculator.export.pool-size}") int poolSize)
+    {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("export-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+
+        return executor;
+    }
+}
@@ -0,0 +1,28 @@
+package com.szczwany.calculator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import static com.szczwany.calculator.utils.Globals.JOB_EVENT_SCHEDULER;
+
+@Configuration
+@EnableScheduling
+public class JobConfig
+{
+    ///
+    // Progress is read from the job counters on a timer, evaluation workers never write to the clients themselves
+    ///
+    @Bean(name = JOB_EVENT_SCHEDULER)
+    public ThreadPoolTaskScheduler jobEventScheduler(@Value("${calculator.jobs.events-pool-size}") int poolSize)
+    {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("job-events-");
+        scheduler.setRemoveOnCancelPolicy(true);
+
+        return scheduler;
+    }
+}
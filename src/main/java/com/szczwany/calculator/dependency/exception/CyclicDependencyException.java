@@ -0,0 +1,13 @@
+package com.szczwany.calculator.dependency.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CyclicDependencyException extends RuntimeException
+{
+    public CyclicDependencyException(Long calculationId, Long referenceId)
+    {
+        super("reference '#" + referenceId + "' creates a cycle with calculation '" + calculationId + "'");
+    }
+}
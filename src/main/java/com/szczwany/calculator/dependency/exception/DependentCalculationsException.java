@@ -0,0 +1,15 @@
+package com.szczwany.calculator.dependency.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DependentCalculationsException extends RuntimeException
+{
+    public DependentCalculationsException(Long calculationId, List<Long> dependentIds)
+    {
+        super("calculation '" + calculationId + "' is referenced by calculations " + dependentIds);
+    }
+}
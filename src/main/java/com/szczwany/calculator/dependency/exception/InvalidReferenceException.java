@@ -0,0 +1,13 @@
+package com.szczwany.calculator.dependency.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidReferenceException extends RuntimeException
+{
+    public InvalidReferenceException(Long projectId, Long referenceId)
+    {
+        super("reference '#" + referenceId + "' does not exist in project '" + projectId + "'");
+    }
+}
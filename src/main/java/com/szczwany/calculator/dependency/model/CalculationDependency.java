@@ -0,0 +1,62 @@
+package com.szczwany.calculator.dependency.model;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+
+import static com.szczwany.calculator.utils.Globals.*;
+
+@Entity
+@Table(name = "calculation_dependencies")
+public class CalculationDependency
+{
+    @Id
+    @GenericGenerator(name = "calculation_dependencies_sequence", strategy = ID_GENERATOR, parameters = {
+            @Parameter(name = "sequence_name", value = "calculation_dependencies_sequence"),
+            @Parameter(name = "increment_size", value = ID_ALLOCATION_SIZE),
+            @Parameter(name = "optimizer", value = ID_OPTIMIZER)})
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "calculation_dependencies_sequence")
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "calculation_id", nullable = false)
+    private Long calculationId;
+
+    @Column(name = "depends_on_id", nullable = false)
+    private Long dependsOnId;
+
+    public CalculationDependency()
+    {
+    }
+
+    public CalculationDependency(Long projectId, Long calculationId, Long dependsOnId)
+    {
+        this.projectId = projectId;
+        this.calculationId = calculationId;
+        this.dependsOnId = dependsOnId;
+    }
+
+    public Long getId()
+    {
+        return id;
+    }
+
+    public Long getProjectId()
+    {
+        return projectId;
+    }
+
+    public Long getCalculationId()
+    {
+        return calculationId;
+    }
+
+    public Long getDependsOnId()
+    {
+        return dependsOnId;
+    }
+}
@@ -0,0 +1,27 @@
+package com.szczwany.calculator.dependency.repository;
+
+import com.szczwany.calculator.dependency.model.CalculationDependency;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ICalculationDependencyRepository extends CrudRepository<CalculationDependency, Long>
+{
+    List<CalculationDependency> findByProjectId(Long projectId);
+
+    @Query("select d.calculationId from CalculationDependency d where d.dependsOnId = :dependsOnId order by d.calculationId")
+    List<Long> findCalculationIdsByDependsOnId(@Param("dependsOnId") Long dependsOnId);
+
+    @Modifying
+    @Query("delete from CalculationDependency d where d.calculationId = :calculationId")
+    int deleteByCalculationId(@Param("calculationId") Long calculationId);
+
+    @Modifying
+    @Query("delete from CalculationDependency d where d.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,327 @@
+package com.szczwany.calculator.dependency.service;
+
+import com.szczwany.calculator.cache.service.ExpressionCacheService;
+import com.szczwany.calculator.cache.service.ResultCacheService;
+import com.szczwany.calculator.calculation.model.CalculationExpression;
+import com.szczwany.calculator.calculation.model.ResultThread;
+import com.szczwany.calculator.calculation.service.CalculationService;
+import com.szczwany.calculator.calculator.Calculator;
+import com.szczwany.calculator.dependency.exception.CyclicDependencyException;
+import com.szczwany.calculator.dependency.exception.DependentCalculationsException;
+import com.szczwany.calculator.dependency.exception.InvalidReferenceException;
+import com.szczwany.calculator.dependency.model.CalculationDependency;
+import com.szczwany.calculator.dependency.repository.ICalculationDependencyRepository;
+import com.szczwany.calculator.job.model.Job;
+import com.szczwany.calculator.job.service.JobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static com.szczwany.calculator.utils.Globals.EVALUATION_EXECUTOR;
+
+@Service
+public class DependencyService implements IDependencyService
+{
+    private ICalculationDependencyRepository dependencyRepository;
+    private CalculationService calculationService;
+    private ResultCacheService resultCacheService;
+    private ExpressionCacheService expressionCacheService;
+    private JobService jobService;
+    private Executor evaluationExecutor;
+    private int chunkSize;
+
+    @Autowired
+    public DependencyService(ICalculationDependencyRepository dependencyRepository, CalculationService calculationService,
+                             ResultCacheService resultCacheService, ExpressionCacheService expressionCacheService,
+                             JobService jobService,
+                             @Qualifier(EVALUATION_EXECUTOR) Executor evaluationExecutor,
+                             @Value("${calculator.evaluation.chunk-size}") int chunkSize)
+    {
+        this.dependencyRepository = dependencyRepository;
+        this.calculationService = calculationService;
+        this.resultCacheService = resultCacheService;
+        this.expressionCacheService = expressionCacheService;
+        this.jobService = jobService;
+        this.evaluationExecutor = evaluationExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    ///
+    // References must point to calculations of the same project and must not lead back to the calculation itself
+    ///
+    @Override
+    public void validateReferences(Long projectId, Long calculationId, String expression)
+    {
+        Set<Long> references = Calculator.references(expression);
+
+        if (references.isEmpty())
+        {
+            return;
+        }
+
+        List<Long> existingIds = calculationService.getCalculationIds(projectId, references);
+
+        for (Long reference : references)
+        {
+            if (!existingIds.contains(reference))
+            {
+                throw new InvalidReferenceException(projectId, reference);
+            }
+        }
+
+        if (calculationId == null)
+        {
+            return;
+        }
+
+        Map<Long, List<Long>> dependsOn = getGraph(projectId, false);
+        dependsOn.remove(calculationId);
+
+        for (Long reference : references)
+        {
+            if (isReachable(dependsOn, reference, calculationId))
+            {
+                throw new CyclicDependencyException(calculationId, reference);
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public void saveDependencies(Long projectId, Long calculationId, String expression)
+    {
+        dependencyRepository.deleteByCalculationId(calculationId);
+        dependencyRepository.save(Calculator.references(expression).stream()
+                .map(reference -> new CalculationDependency(projectId, calculationId, reference))
+                .collect(Collectors.toList()));
+    }
+
+    ///
+    // Only outgoing edges are removed, a calculation other expressions still refer to cannot be deleted
+    ///
+    @Override
+    @Transactional
+    public void deleteDependencies(Long calculationId)
+    {
+        List<Long> dependentIds = dependencyRepository.findCalculationIdsByDependsOnId(calculationId);
+
+        if (!dependentIds.isEmpty())
+        {
+            throw new DependentCalculationsException(calculationId, dependentIds);
+        }
+
+        dependencyRepository.deleteByCalculationId(calculationId);
+    }
+
+    @Override
+    @Transactional
+    public void deleteProjectDependencies(Long projectId)
+    {
+        dependencyRepository.deleteByProjectId(projectId);
+    }
+
+    ///
+    // Re-evaluates the changed calculation and everything downstream of it in the background and returns the job
+    // tracking it, null when no calculation depends on it
+    ///
+    @Override
+    public Job propagateChange(Long projectId, Long calculationId)
+    {
+        Map<Long, List<Long>> dependents = getGraph(projectId, true);
+
+        if (!dependents.containsKey(calculationId))
+        {
+            return null;
+        }
+
+        Set<Long> downstream = new HashSet<>();
+        Deque<Long> queue = new ArrayDeque<>();
+        queue.add(calculationId);
+
+        while (!queue.isEmpty())
+        {
+            Long id = queue.poll();
+
+            if (downstream.add(id))
+            {
+                queue.addAll(dependents.getOrDefault(id, Collections.emptyList()));
+            }
+        }
+
+        List<CalculationExpression> calculations = calculationService.getCalculationExpressions(downstream);
+        Job job = jobService.createJob(calculations.size());
+
+        evaluateInOrder(calculations, Collections.emptyList(), job).whenComplete((result, throwable) ->
+        {
+            if (throwable != null)
+            {
+                job.fail(throwable);
+            }
+            else
+            {
+                job.complete();
+            }
+        });
+
+        return job;
+    }
+
+    ///
+    // Kahn's algorithm by levels, calculations of one level do not depend on each other and are evaluated in parallel,
+    // calculations left in a cycle are counted as failed, other references are taken from evaluated or from the database
+    ///
+    @Override
+    public CompletableFuture<Void> evaluateInOrder(List<CalculationExpression> calculations, Collection<CalculationExpression> evaluated, Job job)
+    {
+        Map<Long, CalculationExpression> byId = new HashMap<>();
+        Map<Long, Set<Long>> references = new HashMap<>();
+        Map<Long, List<Long>> dependents = new HashMap<>();
+        Set<Long> externalReferences = new HashSet<>();
+
+        calculations.forEach(calculation -> byId.put(calculation.getId(), calculation));
+
+        for (CalculationExpression calculation : calculations)
+        {
+            Set<Long> calculationReferences = new HashSet<>();
+
+            for (Long reference : Calculator.references(calculation.getExpression()))
+            {
+                if (byId.containsKey(reference))
+                {
+                    calculationReferences.add(reference);
+                    dependents.computeIfAbsent(reference, id -> new ArrayList<>()).add(calculation.getId());
+                }
+                else
+                {
+                    externalReferences.add(reference);
+                }
+            }
+
+            references.put(calculation.getId(), calculationReferences);
+        }
+
+        Map<Long, BigDecimal> results = new ConcurrentHashMap<>();
+        for (CalculationExpression calculation : evaluated)
+        {
+            if (calculation.getResult() != null && externalReferences.remove(calculation.getId()))
+            {
+                results.put(calculation.getId(), calculation.getResult());
+            }
+        }
+
+        if (!externalReferences.isEmpty())
+        {
+            calculationService.getCalculationExpressions(externalReferences).stream()
+                    .filter(calculation -> calculation.getResult() != null)
+                    .forEach(calculation -> results.put(calculation.getId(), calculation.getResult()));
+        }
+
+        List<CalculationExpression> level = calculations.stream()
+                .filter(calculation -> references.get(calculation.getId()).isEmpty())
+                .collect(Collectors.toList());
+        CompletableFuture<Void> evaluation = CompletableFuture.completedFuture(null);
+        int ordered = 0;
+
+        while (!level.isEmpty())
+        {
+            List<CalculationExpression> currentLevel = level;
+            List<CalculationExpression> nextLevel = new ArrayList<>();
+            evaluation = evaluation.thenCompose(previous -> evaluateLevel(currentLevel, results, job));
+            ordered += currentLevel.size();
+
+            for (CalculationExpression calculation : currentLevel)
+            {
+                for (Long dependent : dependents.getOrDefault(calculation.getId(), Collections.emptyList()))
+                {
+                    Set<Long> remaining = references.get(dependent);
+                    remaining.remove(calculation.getId());
+
+                    if (remaining.isEmpty())
+                    {
+                        nextLevel.add(byId.get(dependent));
+                    }
+                }
+            }
+
+            level = nextLevel;
+        }
+
+        int cyclic = calculations.size() - ordered;
+        job.addProgress(cyclic, cyclic);
+
+        return evaluation;
+    }
+
+    private CompletableFuture<Void> evaluateLevel(List<CalculationExpression> level, Map<Long, BigDecimal> results, Job job)
+    {
+        CompletableFuture<?>[] chunks = new CompletableFuture<?>[(level.size() + chunkSize - 1) / chunkSize];
+
+        for (int i = 0; i < chunks.length; i++)
+        {
+            List<CalculationExpression> chunk = level.subList(i * chunkSize, Math.min((i + 1) * chunkSize, level.size()));
+            ResultThread resultWorker = new ResultThread(chunk, calculationService, resultCacheService, expressionCacheService,
+                    job, results);
+
+            chunks[i] = CompletableFuture.runAsync(resultWorker, evaluationExecutor);
+        }
+
+        return CompletableFuture.allOf(chunks);
+    }
+
+    private Map<Long, List<Long>> getGraph(Long projectId, boolean reversed)
+    {
+        Map<Long, List<Long>> graph = new HashMap<>();
+
+        for (CalculationDependency dependency : dependencyRepository.findByProjectId(projectId))
+        {
+            Long from = reversed ? dependency.getDependsOnId() : dependency.getCalculationId();
+            Long to = reversed ? dependency.getCalculationId() : dependency.getDependsOnId();
+
+            graph.computeIfAbsent(from, id -> new ArrayList<>()).add(to);
+        }
+
+        return graph;
+    }
+
+    private static boolean isReachable(Map<Long, List<Long>> graph, Long from, Long to)
+    {
+        Deque<Long> stack = new ArrayDeque<>();
+        Set<Long> visited = new HashSet<>();
+        stack.push(from);
+
+        while (!stack.isEmpty())
+        {
+            Long id = stack.pop();
+
+            if (id.equals(to))
+            {
+                return true;
+            }
+
+            if (visited.add(id))
+            {
+                graph.getOrDefault(id, Collections.emptyList()).forEach(stack::push);
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.szczwany.calculator.dependency.service;
+
+import com.szczwany.calculator.calculation.model.CalculationExpression;
+import com.szczwany.calculator.job.model.Job;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface IDependencyService
+{
+    void validateReferences(Long projectId, Long calculationId, String expression);
+    void saveDependencies(Long projectId, Long calculationId, String expression);
+    void deleteDependencies(Long calculationId);
+    void deleteProjectDependencies(Long projectId);
+    Job propagateChange(Long projectId, Long calculationId);
+    CompletableFuture<Void> evaluateInOrder(List<CalculationExpression> calculations, Collection<CalculationExpression> evaluated, Job job);
+}
@@ -0,0 +1,107 @@
+package com.szczwany.calculator.evaluation.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.szczwany.calculator.evaluation.model.Evaluation;
+import com.szczwany.calculator.evaluation.service.EvaluationService;
+import com.szczwany.calculator.utils.NdjsonWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import static com.szczwany.calculator.utils.Globals.APPLICATION_NDJSON_VALUE;
+import static com.szczwany.calculator.utils.Globals.EVALUATE_PATH;
+
+///
+// Evaluates expressions without touching the database, bodies are read and answered one chunk at a time
+///
+@Controller
+@RequestMapping(value = EVALUATE_PATH)
+public class EvaluationController
+{
+    private EvaluationService evaluationService;
+    private ObjectMapper objectMapper;
+    private ObjectReader evaluationReader;
+
+    @Autowired
+    public EvaluationController(EvaluationService evaluationService, ObjectMapper objectMapper)
+    {
+        this.evaluationService = evaluationService;
+        this.objectMapper = objectMapper;
+        this.evaluationReader = objectMapper.readerFor(Evaluation.class);
+    }
+
+    ///
+    // A single expression is answered with a single result, an array with an array of results in the same order
+    ///
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public void evaluate(InputStream body, HttpServletResponse response) throws IOException
+    {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body))
+        {
+            JsonToken token = parser.nextToken();
+
+            if (token == JsonToken.START_OBJECT || token == JsonToken.VALUE_STRING)
+            {
+                Evaluation evaluation = evaluationService.evaluate(evaluationReader.readValue(parser));
+
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), evaluation);
+
+                return;
+            }
+
+            if (token != JsonToken.START_ARRAY)
+            {
+                throw new IllegalArgumentException("expression or array of expressions is required");
+            }
+
+            parser.nextToken();
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream()))
+            {
+                ObjectWriter evaluationWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+                generator.writeStartArray();
+                evaluationService.evaluateInOrder(evaluationReader.readValues(parser), evaluation -> write(evaluationWriter, generator, evaluation));
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    @PostMapping(consumes = APPLICATION_NDJSON_VALUE, produces = APPLICATION_NDJSON_VALUE)
+    public void evaluateNdjson(InputStream body, HttpServletResponse response) throws IOException
+    {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, response.getOutputStream()))
+        {
+            evaluationService.evaluateInOrder(evaluationReader.readValues(body), writer::write);
+        }
+    }
+
+    private static void write(ObjectWriter evaluationWriter, JsonGenerator generator, Evaluation evaluation)
+    {
+        try
+        {
+            evaluationWriter.writeValue(generator, evaluation);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.szczwany.calculator.evaluation.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.math.BigDecimal;
+
+///
+// Expression evaluated without persistence, an invalid expression is answered with no result
+///
+public class Evaluation
+{
+    private String expression;
+    private BigDecimal result;
+
+    public Evaluation()
+    {
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public Evaluation(String expression)
+    {
+        this.expression = expression;
+    }
+
+    public String getExpression()
+    {
+        return expression;
+    }
+
+    public void setExpression(String expression)
+    {
+        this.expression = expression;
+    }
+
+    public BigDecimal getResult()
+    {
+        return result;
+    }
+
+    public void setResult(BigDecimal result)
+    {
+        this.result = result;
+    }
+}
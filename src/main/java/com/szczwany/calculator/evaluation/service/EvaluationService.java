@@ -0,0 +1,92 @@
+package com.szczwany.calculator.evaluation.service;
+
+import com.szczwany.calculator.cache.service.ResultCacheService;
+import com.szczwany.calculator.evaluation.model.Evaluation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static com.szczwany.calculator.utils.Globals.STATELESS_EVALUATION_EXECUTOR;
+
+@Service
+public class EvaluationService implements IEvaluationService
+{
+    private ResultCacheService resultCacheService;
+    private Executor evaluationExecutor;
+    private int chunkSize;
+    private int chunksInFlight;
+
+    @Autowired
+    public EvaluationService(ResultCacheService resultCacheService,
+                             @Qualifier(STATELESS_EVALUATION_EXECUTOR) Executor evaluationExecutor,
+                             @Value("${calculator.evaluation.chunk-size}") int chunkSize,
+                             @Value("${calculator.evaluate.pool-size}") int chunksInFlight)
+    {
+        this.resultCacheService = resultCacheService;
+        this.evaluationExecutor = evaluationExecutor;
+        this.chunkSize = chunkSize;
+        this.chunksInFlight = chunksInFlight;
+    }
+
+    @Override
+    public Evaluation evaluate(Evaluation evaluation)
+    {
+        evaluation.setResult(evaluation.getExpression() != null ? resultCacheService.evaluate(evaluation.getExpression()) : null);
+
+        return evaluation;
+    }
+
+    ///
+    // At most two windows of chunks are held, the next one is read while the previous one is evaluated,
+    // chunks are consumed in submission order so results keep the order of the input
+    ///
+    @Override
+    public void evaluateInOrder(Iterator<Evaluation> evaluations, Consumer<Evaluation> consumer)
+    {
+        List<CompletableFuture<List<Evaluation>>> window = submitWindow(evaluations);
+
+        while (!window.isEmpty())
+        {
+            List<CompletableFuture<List<Evaluation>>> nextWindow = submitWindow(evaluations);
+
+            for (CompletableFuture<List<Evaluation>> chunk : window)
+            {
+                chunk.join().forEach(consumer);
+            }
+
+            window = nextWindow;
+        }
+    }
+
+    private List<CompletableFuture<List<Evaluation>>> submitWindow(Iterator<Evaluation> evaluations)
+    {
+        List<CompletableFuture<List<Evaluation>>> window = new ArrayList<>(chunksInFlight);
+
+        while (window.size() < chunksInFlight && evaluations.hasNext())
+        {
+            List<Evaluation> chunk = new ArrayList<>(chunkSize);
+
+            while (chunk.size() < chunkSize && evaluations.hasNext())
+            {
+                chunk.add(evaluations.next());
+            }
+
+            window.add(CompletableFuture.supplyAsync(() ->
+            {
+                chunk.forEach(this::evaluate);
+
+                return chunk;
+            }, evaluationExecutor));
+        }
+
+        return window;
+    }
+}
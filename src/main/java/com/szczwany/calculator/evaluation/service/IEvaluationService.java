@@ -0,0 +1,12 @@
+package com.szczwany.calculator.evaluation.service;
+
+import com.szczwany.calculator.evaluation.model.Evaluation;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+public interface IEvaluationService
+{
+    Evaluation evaluate(Evaluation evaluation);
+    void evaluateInOrder(Iterator<Evaluation> evaluations, Consumer<Evaluation> consumer);
+}
@@ -0,0 +1,55 @@
+package com.szczwany.calculator.export.controller;
+
+import com.szczwany.calculator.export.model.Export;
+import com.szczwany.calculator.export.model.ExportFormat;
+import com.szczwany.calculator.export.service.ExportService;
+import com.szczwany.calculator.job.model.Job;
+import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.project.service.ProjectService;
+import com.szczwany.calculator.utils.FileTransfer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static com.szczwany.calculator.utils.Globals.*;
+import static com.szczwany.calculator.utils.Response.*;
+
+@Controller
+@RequestMapping(value = EXPORTS_PATH)
+public class ExportController
+{
+    private ExportService exportService;
+    private ProjectService projectService;
+
+    @Autowired
+    public ExportController(ExportService exportService, ProjectService projectService)
+    {
+        this.exportService = exportService;
+        this.projectService = projectService;
+    }
+
+    @PostMapping(value = EMPTY_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Job> startExport(@RequestParam(required = false) Long projectId,
+                                           @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                           @RequestParam(defaultValue = "false") boolean gzip)
+    {
+        Project project = projectId == null ? null : projectService.getProject(projectId);
+        Export export = exportService.startExport(project, format, gzip);
+
+        return statusAccepted(JOBS_PATH + JOB_ID_PATH, export.getJob().getId(), export.getJob());
+    }
+
+    @GetMapping(value = EXPORT_ID_PATH + EXPORT_FILE_PATH)
+    public void downloadExport(@PathVariable Long jobId, HttpServletRequest request, HttpServletResponse response) throws IOException
+    {
+        Export export = exportService.getCompletedExport(jobId);
+
+        FileTransfer.send(export.getFile(), export.getContentType(), request, response);
+    }
+}
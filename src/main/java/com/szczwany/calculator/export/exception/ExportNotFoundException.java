@@ -0,0 +1,13 @@
+package com.szczwany.calculator.export.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ExportNotFoundException extends RuntimeException
+{
+    public ExportNotFoundException(Long jobId)
+    {
+        super("export '" + jobId + "' does not exist");
+    }
+}
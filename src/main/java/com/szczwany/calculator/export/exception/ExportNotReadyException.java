@@ -0,0 +1,14 @@
+package com.szczwany.calculator.export.exception;
+
+import com.szczwany.calculator.job.model.JobStatus;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ExportNotReadyException extends RuntimeException
+{
+    public ExportNotReadyException(Long jobId, JobStatus status)
+    {
+        super("export '" + jobId + "' is " + status.name().toLowerCase());
+    }
+}
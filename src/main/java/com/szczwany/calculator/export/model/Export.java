@@ -0,0 +1,48 @@
+package com.szczwany.calculator.export.model;
+
+import com.szczwany.calculator.job.model.Job;
+
+import java.nio.file.Path;
+
+import static com.szczwany.calculator.utils.Globals.APPLICATION_GZIP_VALUE;
+
+public class Export
+{
+    private final Job job;
+    private final Path file;
+    private final ExportFormat format;
+    private final boolean gzip;
+
+    public Export(Job job, Path file, ExportFormat format, boolean gzip)
+    {
+        this.job = job;
+        this.file = file;
+        this.format = format;
+        this.gzip = gzip;
+    }
+
+    public Job getJob()
+    {
+        return job;
+    }
+
+    public Path getFile()
+    {
+        return file;
+    }
+
+    public ExportFormat getFormat()
+    {
+        return format;
+    }
+
+    public boolean isGzip()
+    {
+        return gzip;
+    }
+
+    public String getContentType()
+    {
+        return gzip ? APPLICATION_GZIP_VALUE : format.getContentType();
+    }
+}
@@ -0,0 +1,29 @@
+package com.szczwany.calculator.export.model;
+
+import static com.szczwany.calculator.utils.Globals.APPLICATION_NDJSON_VALUE;
+import static com.szczwany.calculator.utils.Globals.TEXT_CSV_VALUE;
+
+public enum ExportFormat
+{
+    CSV(TEXT_CSV_VALUE, ".csv"),
+    NDJSON(APPLICATION_NDJSON_VALUE, ".ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension)
+    {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType()
+    {
+        return contentType;
+    }
+
+    public String getExtension()
+    {
+        return extension;
+    }
+}
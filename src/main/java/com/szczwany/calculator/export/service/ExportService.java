@@ -0,0 +1,201 @@
+package com.szczwany.calculator.export.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.service.CalculationService;
+import com.szczwany.calculator.export.exception.ExportNotFoundException;
+import com.szczwany.calculator.export.exception.ExportNotReadyException;
+import com.szczwany.calculator.export.model.Export;
+import com.szczwany.calculator.export.model.ExportFormat;
+import com.szczwany.calculator.job.model.Job;
+import com.szczwany.calculator.job.model.JobStatus;
+import com.szczwany.calculator.job.service.JobService;
+import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.utils.CsvWriter;
+import com.szczwany.calculator.utils.NdjsonWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+import static com.szczwany.calculator.utils.Globals.*;
+
+@Service
+public class ExportService implements IExportService
+{
+    private final Map<Long, Export> exports;
+
+    private CalculationService calculationService;
+    private JobService jobService;
+    private ObjectMapper objectMapper;
+    private Executor exportExecutor;
+    private Path directory;
+
+    @Autowired
+    public ExportService(CalculationService calculationService, JobService jobService, ObjectMapper objectMapper,
+                         @Qualifier(EXPORT_EXECUTOR) Executor exportExecutor,
+                         @Value("${calculator.export.directory}") String directory)
+    {
+        this.exports = new ConcurrentHashMap<>();
+        this.calculationService = calculationService;
+        this.jobService = jobService;
+        this.objectMapper = objectMapper;
+        this.exportExecutor = exportExecutor;
+        this.directory = Paths.get(directory);
+
+        jobService.addExpirationListener(this::removeExport);
+    }
+
+    ///
+    // Without a project every calculation is exported, the job id doubles as the export id
+    ///
+    @Override
+    public Export startExport(Project project, ExportFormat format, boolean gzip)
+    {
+        long total = project == null ? calculationService.countCalculations() : calculationService.countCalculationsByProject(project);
+        Job job = jobService.createJob(total);
+        Path file = directory.resolve(EXPORT_FILE_PREFIX + job.getId() + format.getExtension() + (gzip ? GZIP_EXTENSION : ""));
+        Export export = new Export(job, file, format, gzip);
+
+        exports.put(job.getId(), export);
+
+        CompletableFuture.runAsync(() -> write(export, project), exportExecutor).whenComplete((result, throwable) ->
+        {
+            if (throwable != null)
+            {
+                deleteQuietly(file);
+                job.fail(throwable);
+            }
+            else
+            {
+                job.complete();
+            }
+        });
+
+        return export;
+    }
+
+    @Override
+    public Export getCompletedExport(Long jobId)
+    {
+        Export export = Optional.ofNullable(exports.get(jobId))
+                .orElseThrow(() ->
+                        new ExportNotFoundException(jobId));
+        JobStatus status = export.getJob().getStatus();
+
+        if (status != JobStatus.COMPLETED)
+        {
+            throw new ExportNotReadyException(jobId, status);
+        }
+
+        return export;
+    }
+
+    ///
+    // Called when the job of the export expires. A streamed download that already opened the file keeps reading it,
+    // but with sendfile Tomcat opens the file only after the handler returns, so a download that passed
+    // getCompletedExport just before the sweep can still find the file gone and fail
+    ///
+    private void removeExport(Job job)
+    {
+        Export export = exports.remove(job.getId());
+
+        if (export != null)
+        {
+            deleteQuietly(export.getFile());
+        }
+    }
+
+    private void write(Export export, Project project)
+    {
+        try
+        {
+            Files.createDirectories(directory);
+
+            try (FileChannel channel = FileChannel.open(export.getFile(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                 OutputStream output = openOutput(channel, export.isGzip()))
+            {
+                if (export.getFormat() == ExportFormat.CSV)
+                {
+                    try (CsvWriter writer = new CsvWriter(output, EXPORT_CSV_HEADER))
+                    {
+                        stream(project, export.getJob(), calculation -> writer.writeRow(calculation.getId(),
+                                calculation.getDescription(), calculation.getExpression(), calculation.getResult()));
+                    }
+                }
+                else
+                {
+                    try (NdjsonWriter writer = new NdjsonWriter(objectMapper, output))
+                    {
+                        stream(project, export.getJob(), writer::write);
+                    }
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void stream(Project project, Job job, Consumer<Calculation> writer)
+    {
+        Consumer<Calculation> consumer = calculation ->
+        {
+            if (job.isCancelRequested())
+            {
+                throw new CancellationException(CANCELLED_BY_REQUEST);
+            }
+
+            writer.accept(calculation);
+            job.addProgress(1, 0);
+        };
+
+        if (project == null)
+        {
+            calculationService.streamCalculations(consumer);
+        }
+        else
+        {
+            calculationService.streamCalculationsByProject(project, consumer);
+        }
+    }
+
+    private static OutputStream openOutput(FileChannel channel, boolean gzip) throws IOException
+    {
+        OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel), EXPORT_BUFFER_SIZE);
+
+        return gzip ? new GZIPOutputStream(output, EXPORT_BUFFER_SIZE) : output;
+    }
+
+    private static void deleteQuietly(Path file)
+    {
+        try
+        {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException ignored)
+        {
+        }
+    }
+}
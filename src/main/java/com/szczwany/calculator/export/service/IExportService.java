@@ -0,0 +1,11 @@
+package com.szczwany.calculator.export.service;
+
+import com.szczwany.calculator.export.model.Export;
+import com.szczwany.calculator.export.model.ExportFormat;
+import com.szczwany.calculator.project.model.Project;
+
+public interface IExportService
+{
+    Export startExport(Project project, ExportFormat format, boolean gzip);
+    Export getCompletedExport(Long jobId);
+}
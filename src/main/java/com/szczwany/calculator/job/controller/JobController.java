@@ -0,0 +1,54 @@
+package com.szczwany.calculator.job.controller;
+
+import com.szczwany.calculator.job.model.Job;
+import com.szczwany.calculator.job.service.JobEventService;
+import com.szczwany.calculator.job.service.JobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static com.szczwany.calculator.utils.Globals.*;
+import static com.szczwany.calculator.utils.Response.*;
+
+@Controller
+@RequestMapping(value = JOBS_PATH)
+public class JobController
+{
+    private JobService jobService;
+    private JobEventService jobEventService;
+
+    @Autowired
+    public JobController(JobService jobService, JobEventService jobEventService)
+    {
+        this.jobService = jobService;
+        this.jobEventService = jobEventService;
+    }
+
+    @GetMapping(value = JOB_ID_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Job> getJob(@PathVariable Long jobId)
+    {
+        Job job = jobService.getJob(jobId);
+
+        return statusOkWithBody(job);
+    }
+
+    @GetMapping(value = JOB_ID_PATH + JOB_EVENTS_PATH, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getJobEvents(@PathVariable Long jobId)
+    {
+        return jobEventService.subscribe(jobId);
+    }
+
+    @DeleteMapping(value = JOB_ID_PATH)
+    public ResponseEntity<?> cancelJob(@PathVariable Long jobId)
+    {
+        jobService.cancelJob(jobId);
+
+        return statusNoContent();
+    }
+}
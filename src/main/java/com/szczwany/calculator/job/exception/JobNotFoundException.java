@@ -0,0 +1,13 @@
+package com.szczwany.calculator.job.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class JobNotFoundException extends RuntimeException
+{
+    public JobNotFoundException(Long jobId)
+    {
+        super("job '" + jobId + "' does not exist");
+    }
+}
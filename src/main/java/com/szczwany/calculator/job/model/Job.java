@@ -0,0 +1,222 @@
+package com.szczwany.calculator.job.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.szczwany.calculator.utils.Globals.*;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Job
+{
+    private final Long id;
+    private final long total;
+    private final AtomicLong processed;
+    private final AtomicLong failed;
+    private final CompletableFuture<Job> completion;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = DATE_TIME_FORMAT)
+    private final Date createdAt;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = DATE_TIME_FORMAT)
+    private volatile Date finishedAt;
+
+    private volatile JobStatus status;
+    private volatile String error;
+
+    @JsonIgnore
+    private final long startedNanos;
+
+    @JsonIgnore
+    private volatile long finishedNanos;
+
+    @JsonIgnore
+    private final Long deadlineNanos;
+
+    @JsonIgnore
+    private volatile boolean cancelRequested;
+
+    @JsonIgnore
+    private volatile String cancelReason;
+
+    public Job(Long id, long total)
+    {
+        this(id, total, null);
+    }
+
+    ///
+    // A job still running after timeoutMilliseconds is cancelled the next time a worker checks it
+    ///
+    public Job(Long id, long total, Long timeoutMilliseconds)
+    {
+        this.id = id;
+        this.total = total;
+        this.processed = new AtomicLong();
+        this.failed = new AtomicLong();
+        this.completion = new CompletableFuture<>();
+        this.createdAt = now();
+        this.startedNanos = System.nanoTime();
+        this.deadlineNanos = timeoutMilliseconds != null ? startedNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMilliseconds) : null;
+        this.status = JobStatus.RUNNING;
+    }
+
+    public Long getId()
+    {
+        return id;
+    }
+
+    public JobStatus getStatus()
+    {
+        return status;
+    }
+
+    public long getTotal()
+    {
+        return total;
+    }
+
+    public long getProcessed()
+    {
+        return processed.get();
+    }
+
+    public long getFailed()
+    {
+        return failed.get();
+    }
+
+    public Date getCreatedAt()
+    {
+        return createdAt;
+    }
+
+    public Date getFinishedAt()
+    {
+        return finishedAt;
+    }
+
+    public String getError()
+    {
+        return error;
+    }
+
+    @JsonIgnore
+    public long getElapsedNanos()
+    {
+        return (isFinished() ? finishedNanos : System.nanoTime()) - startedNanos;
+    }
+
+    ///
+    // Monotonic finish time for expiry, finishedAt carries the display offset and is only meant for JSON output
+    ///
+    @JsonIgnore
+    public long getFinishedNanos()
+    {
+        return finishedNanos;
+    }
+
+    @JsonIgnore
+    public boolean isFinished()
+    {
+        return status != JobStatus.RUNNING;
+    }
+
+    ///
+    // Checked by workers between calculations, so it has to stay a volatile read unless there is a deadline.
+    // The job stays RUNNING until whoever drives the workers completes it after the last chunk has been written
+    ///
+    @JsonIgnore
+    public boolean isCancelRequested()
+    {
+        if (!cancelRequested && deadlineNanos != null && System.nanoTime() - deadlineNanos >= 0)
+        {
+            requestCancel(DEADLINE_EXCEEDED);
+        }
+
+        return cancelRequested;
+    }
+
+    public void addProgress(long processedCount, long failedCount)
+    {
+        processed.addAndGet(processedCount);
+        failed.addAndGet(failedCount);
+    }
+
+    ///
+    // Only a cancel a worker has already seen counts, a deadline passing after the last chunk was written does not
+    ///
+    public void complete()
+    {
+        if (cancelRequested)
+        {
+            finish(JobStatus.CANCELLED, cancelReason);
+            return;
+        }
+
+        finish(JobStatus.COMPLETED, null);
+    }
+
+    public void cancel()
+    {
+        requestCancel(CANCELLED_BY_REQUEST);
+    }
+
+    ///
+    // Workers stopped by a cancel may end with an exception, the job is still reported as cancelled
+    ///
+    public void fail(Throwable throwable)
+    {
+        if (cancelRequested)
+        {
+            finish(JobStatus.CANCELLED, cancelReason);
+            return;
+        }
+
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+                throwable.getCause() : throwable;
+
+        finish(JobStatus.FAILED, cause.getMessage());
+    }
+
+    public Job await()
+    {
+        return completion.join();
+    }
+
+    private synchronized void requestCancel(String reason)
+    {
+        if (cancelRequested || isFinished())
+        {
+            return;
+        }
+
+        this.cancelReason = reason;
+        this.cancelRequested = true;
+    }
+
+    private synchronized void finish(JobStatus finalStatus, String errorMessage)
+    {
+        if (isFinished())
+        {
+            return;
+        }
+
+        this.error = errorMessage;
+        this.finishedAt = now();
+        this.finishedNanos = System.nanoTime();
+        this.status = finalStatus;
+        completion.complete(this);
+    }
+
+    private static Date now()
+    {
+        return new Timestamp(System.currentTimeMillis() + ONE_HOUR_MILISECONDS);
+    }
+}
@@ -0,0 +1,80 @@
+package com.szczwany.calculator.job.model;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledFuture;
+
+import static com.szczwany.calculator.utils.Globals.PROGRESS_EVENT;
+
+///
+// Runs on every tick of the event scheduler, a progress event is sent only when the counters have moved
+// and the final event carries the status of the job as its name
+///
+public class JobEventPublisher implements Runnable
+{
+    private final Job job;
+    private final SseEmitter emitter;
+    private long lastProcessed;
+    private volatile ScheduledFuture<?> task;
+    private volatile boolean closed;
+
+    public JobEventPublisher(Job job, SseEmitter emitter)
+    {
+        this.job = job;
+        this.emitter = emitter;
+        this.lastProcessed = -1;
+    }
+
+    public void setTask(ScheduledFuture<?> task)
+    {
+        this.task = task;
+
+        if (closed)
+        {
+            task.cancel(false);
+        }
+    }
+
+    @Override
+    public void run()
+    {
+        if (closed)
+        {
+            close();
+            return;
+        }
+
+        JobProgress progress = JobProgress.of(job);
+
+        try
+        {
+            if (progress.getStatus() != JobStatus.RUNNING)
+            {
+                close();
+                emitter.send(SseEmitter.event().name(progress.getStatus().name().toLowerCase()).data(progress, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            }
+            else if (progress.getProcessed() != lastProcessed)
+            {
+                lastProcessed = progress.getProcessed();
+                emitter.send(SseEmitter.event().name(PROGRESS_EVENT).data(progress, MediaType.APPLICATION_JSON));
+            }
+        }
+        catch (IOException | IllegalStateException e)
+        {
+            close();
+        }
+    }
+
+    public void close()
+    {
+        closed = true;
+
+        if (task != null)
+        {
+            task.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.szczwany.calculator.job.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.concurrent.TimeUnit;
+
+///
+// Snapshot of a job sent as a progress event, throughput is per second since the job was created
+///
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobProgress
+{
+    private final Long id;
+    private final JobStatus status;
+    private final long total;
+    private final long processed;
+    private final long failed;
+    private final double throughput;
+    private final Long etaSeconds;
+
+    private JobProgress(Long id, JobStatus status, long total, long processed, long failed, double throughput, Long etaSeconds)
+    {
+        this.id = id;
+        this.status = status;
+        this.total = total;
+        this.processed = processed;
+        this.failed = failed;
+        this.throughput = throughput;
+        this.etaSeconds = etaSeconds;
+    }
+
+    public static JobProgress of(Job job)
+    {
+        JobStatus status = job.getStatus();
+        long processed = job.getProcessed();
+        long elapsedNanos = Math.max(job.getElapsedNanos(), 1);
+        double throughput = processed * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        Long etaSeconds = null;
+
+        if (status == JobStatus.RUNNING && throughput > 0)
+        {
+            etaSeconds = (long) Math.ceil(Math.max(job.getTotal() - processed, 0) / throughput);
+        }
+
+        return new JobProgress(job.getId(), status, job.getTotal(), processed, job.getFailed(), throughput, etaSeconds);
+    }
+
+    public Long getId()
+    {
+        return id;
+    }
+
+    public JobStatus getStatus()
+    {
+        return status;
+    }
+
+    public long getTotal()
+    {
+        return total;
+    }
+
+    public long getProcessed()
+    {
+        return processed;
+    }
+
+    public long getFailed()
+    {
+        return failed;
+    }
+
+    public double getThroughput()
+    {
+        return throughput;
+    }
+
+    public Long getEtaSeconds()
+    {
+        return etaSeconds;
+    }
+}
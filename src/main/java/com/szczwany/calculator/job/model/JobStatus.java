@@ -0,0 +1,9 @@
+package com.szczwany.calculator.job.model;
+
+public enum JobStatus
+{
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
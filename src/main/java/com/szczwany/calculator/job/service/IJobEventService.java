@@ -0,0 +1,8 @@
+package com.szczwany.calculator.job.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface IJobEventService
+{
+    SseEmitter subscribe(Long jobId);
+}
@@ -0,0 +1,15 @@
+package com.szczwany.calculator.job.service;
+
+import com.szczwany.calculator.job.model.Job;
+
+import java.util.function.Consumer;
+
+public interface IJobService
+{
+    Job createJob(long total);
+    Job createJob(long total, Long timeoutMilliseconds);
+    Job getJob(Long jobId);
+    Job cancelJob(Long jobId);
+    void addExpirationListener(Consumer<Job> listener);
+    void removeExpiredJobs();
+}
@@ -0,0 +1,48 @@
+package com.szczwany.calculator.job.service;
+
+import com.szczwany.calculator.job.model.Job;
+import com.szczwany.calculator.job.model.JobEventPublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.szczwany.calculator.utils.Globals.JOB_EVENT_SCHEDULER;
+
+@Service
+public class JobEventService implements IJobEventService
+{
+    private JobService jobService;
+    private TaskScheduler jobEventScheduler;
+    private long intervalMilliseconds;
+    private long timeoutMilliseconds;
+
+    @Autowired
+    public JobEventService(JobService jobService, @Qualifier(JOB_EVENT_SCHEDULER) TaskScheduler jobEventScheduler,
+                           @Value("${calculator.jobs.events-interval-ms}") long intervalMilliseconds,
+                           @Value("${calculator.jobs.events-timeout-seconds}") long timeoutSeconds)
+    {
+        this.jobService = jobService;
+        this.jobEventScheduler = jobEventScheduler;
+        this.intervalMilliseconds = intervalMilliseconds;
+        this.timeoutMilliseconds = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long jobId)
+    {
+        Job job = jobService.getJob(jobId);
+        SseEmitter emitter = new SseEmitter(timeoutMilliseconds);
+        JobEventPublisher publisher = new JobEventPublisher(job, emitter);
+
+        emitter.onCompletion(publisher::close);
+        emitter.onTimeout(publisher::close);
+        publisher.setTask(jobEventScheduler.scheduleAtFixedRate(publisher, intervalMilliseconds));
+
+        return emitter;
+    }
+}
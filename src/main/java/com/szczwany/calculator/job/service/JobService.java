@@ -0,0 +1,96 @@
+package com.szczwany.calculator.job.service;
+
+import com.szczwany.calculator.job.exception.JobNotFoundException;
+import com.szczwany.calculator.job.model.Job;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+@Service
+public class JobService implements IJobService
+{
+    private final Map<Long, Job> jobs;
+    private final List<Consumer<Job>> expirationListeners;
+    private final AtomicLong sequence;
+    private final long retentionNanos;
+
+    @Autowired
+    public JobService(@Value("${calculator.jobs.retention-seconds}") long retentionSeconds)
+    {
+        this.jobs = new ConcurrentHashMap<>();
+        this.expirationListeners = new CopyOnWriteArrayList<>();
+        this.sequence = new AtomicLong();
+        this.retentionNanos = TimeUnit.SECONDS.toNanos(retentionSeconds);
+    }
+
+    @Override
+    public Job createJob(long total)
+    {
+        return createJob(total, null);
+    }
+
+    @Override
+    public Job createJob(long total, Long timeoutMilliseconds)
+    {
+        removeExpiredJobs();
+
+        Job job = new Job(sequence.incrementAndGet(), total, timeoutMilliseconds);
+        jobs.put(job.getId(), job);
+
+        return job;
+    }
+
+    @Override
+    public Job getJob(Long jobId)
+    {
+        return Optional.ofNullable(jobs.get(jobId))
+                .orElseThrow(() ->
+                        new JobNotFoundException(jobId));
+    }
+
+    ///
+    // Workers stop at their next check, results they have already computed are still written
+    ///
+    @Override
+    public Job cancelJob(Long jobId)
+    {
+        Job job = getJob(jobId);
+        job.cancel();
+
+        return job;
+    }
+
+    @Override
+    public void addExpirationListener(Consumer<Job> listener)
+    {
+        expirationListeners.add(listener);
+    }
+
+    ///
+    // Also runs on a timer, so whatever is kept for a finished job (an export file) is released even when no new job is created
+    ///
+    @Override
+    @Scheduled(fixedDelayString = "${calculator.jobs.sweep-interval-ms}")
+    public void removeExpiredJobs()
+    {
+        long now = System.nanoTime();
+
+        for (Job job : jobs.values())
+        {
+            if (job.isFinished() && now - job.getFinishedNanos() >= retentionNanos && jobs.remove(job.getId(), job))
+            {
+                expirationListeners.forEach(listener -> listener.accept(job));
+            }
+        }
+    }
+}
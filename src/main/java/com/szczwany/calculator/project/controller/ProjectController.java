@@ -3,10 +3,12 @@ package com.szczwany.calculator.project.controller;
 import com.szczwany.calculator.project.model.Project;
 import com.szczwany.calculator.project.service.ProjectService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.Collection;
@@ -19,17 +21,41 @@ import static com.szczwany.calculator.utils.Response.*;
 public class ProjectController
 {
     private ProjectService projectService;
+    private int defaultPageSize;
 
     @Autowired
-    public ProjectController(ProjectService projectService)
+    public ProjectController(ProjectService projectService, @Value("${calculator.paging.default-size}") int defaultPageSize)
     {
         this.projectService = projectService;
+        this.defaultPageSize = defaultPageSize;
     }
 
     @GetMapping(value = EMPTY_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> getProjects()
+    public ResponseEntity<?> getProjects(@RequestParam(required = false) Integer size,
+                                         @RequestParam(defaultValue = "0") Long afterId,
+                                         @RequestParam(defaultValue = "false") boolean unpaged,
+                                         @RequestParam(required = false) String expand, WebRequest request)
     {
-        Collection<Project> projects = projectService.getProjects();
+        boolean expanded = EXPAND_CALCULATIONS.equals(expand);
+
+        if (request.checkNotModified(eTag(expanded ? EXPANDED_VARIANT : JSON_VARIANT, projectService.getDataVersionOfAll())))
+        {
+            return null;
+        }
+
+        Collection<?> projects;
+        int pageSize = size != null ? size : defaultPageSize;
+
+        if (expanded)
+        {
+            projects = unpaged ?
+                    projectService.getProjectsWithCalculations() : projectService.getProjectsWithCalculations(afterId, pageSize);
+        }
+        else
+        {
+            projects = unpaged ?
+                    projectService.getProjectSummaries() : projectService.getProjectSummaries(afterId, pageSize);
+        }
 
         return projects.isEmpty() ? statusNoContent() : statusOkWithBody(projects);
     }
@@ -44,11 +70,19 @@ public class ProjectController
     }
 
     @GetMapping(value = PROJECT_ID_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Project> getProject(@PathVariable Long projectId)
+    public ResponseEntity<?> getProject(@PathVariable Long projectId, @RequestParam(required = false) String expand,
+                                        WebRequest request)
     {
-        Project project = projectService.getProject(projectId);
+        boolean expanded = EXPAND_CALCULATIONS.equals(expand);
 
-        return statusOkWithBody(project);
+        if (request.checkNotModified(eTag(expanded ? EXPANDED_VARIANT : JSON_VARIANT, projectService.getDataVersion(projectId))))
+        {
+            return null;
+        }
+
+        return expanded ?
+                statusOkWithBody(projectService.getProjectWithCalculations(projectId)) :
+                statusOkWithBody(projectService.getProjectSummary(projectId));
     }
 
     @PutMapping(value = PROJECT_ID_PATH)
@@ -64,7 +98,6 @@ public class ProjectController
     @DeleteMapping(value = PROJECT_ID_PATH)
     public ResponseEntity<?> deleteProject(@PathVariable Long projectId)
     {
-        projectService.getProject(projectId);
         projectService.deleteProject(projectId);
 
         return statusNoContent();
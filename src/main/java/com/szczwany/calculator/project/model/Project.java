@@ -1,17 +1,29 @@
 package com.szczwany.calculator.project.model;
 
 import com.szczwany.calculator.calculation.model.Calculation;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.validator.constraints.NotBlank;
 
 import javax.persistence.*;
 import java.util.List;
 
+import static com.szczwany.calculator.utils.Globals.*;
+
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = PROJECT_CACHE)
 @Table(name = "projects")
 public class Project
 {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GenericGenerator(name = "projects_sequence", strategy = ID_GENERATOR, parameters = {
+            @Parameter(name = "sequence_name", value = "projects_sequence"),
+            @Parameter(name = "increment_size", value = ID_ALLOCATION_SIZE),
+            @Parameter(name = "optimizer", value = ID_OPTIMIZER)})
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_sequence")
     @Column(name = "id")
     private Long id;
 
@@ -19,7 +31,8 @@ public class Project
     @Column(name = "name")
     private String name;
 
-    @OneToMany(mappedBy = "project", cascade = CascadeType.REMOVE)
+    @OrderBy("id")
+    @OneToMany(mappedBy = "project")
     private List<Calculation> calculations;
 
     public Project()
@@ -0,0 +1,47 @@
+package com.szczwany.calculator.project.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Date;
+
+import static com.szczwany.calculator.utils.Globals.DATE_TIME_FORMAT;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProjectSummary
+{
+    private Long id;
+    private String name;
+    private long calculationCount;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = DATE_TIME_FORMAT)
+    private Date lastUpdatedAt;
+
+    public ProjectSummary(Long id, String name, Long calculationCount, Date lastUpdatedAt)
+    {
+        this.id = id;
+        this.name = name;
+        this.calculationCount = calculationCount;
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+
+    public Long getId()
+    {
+        return id;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public long getCalculationCount()
+    {
+        return calculationCount;
+    }
+
+    public Date getLastUpdatedAt()
+    {
+        return lastUpdatedAt;
+    }
+}
@@ -1,10 +1,42 @@
 package com.szczwany.calculator.project.repository;
 
 import com.szczwany.calculator.project.model.Project;
-import org.springframework.data.repository.CrudRepository;
+import com.szczwany.calculator.project.model.ProjectSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface IProjectRepository extends CrudRepository<Project, Long>
+public interface IProjectRepository extends PagingAndSortingRepository<Project, Long>
 {
+    String SELECT_SUMMARY = "select new com.szczwany.calculator.project.model.ProjectSummary(" +
+            "p.id, p.name, count(c.id), max(c.updatedAt)) from Project p left join p.calculations c ";
+    String GROUP_BY_PROJECT = " group by p.id, p.name order by p.id";
+
+    List<Project> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + GROUP_BY_PROJECT)
+    List<ProjectSummary> findSummaries();
+
+    @Query(SELECT_SUMMARY + "where p.id > :afterId" + GROUP_BY_PROJECT)
+    List<ProjectSummary> findSummariesByIdGreaterThan(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SELECT_SUMMARY + "where p.id = :projectId" + GROUP_BY_PROJECT)
+    ProjectSummary findSummary(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("delete from Project p where p.id = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+
+    @Query("select distinct p from Project p left join fetch p.calculations order by p.id")
+    List<Project> findAllWithCalculations();
+
+    @Query("select distinct p from Project p left join fetch p.calculations where p.id in :projectIds order by p.id")
+    List<Project> findWithCalculationsByIdIn(@Param("projectIds") Collection<Long> projectIds);
 }
@@ -0,0 +1,74 @@
+package com.szczwany.calculator.project.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+///
+// data_version is not mapped on Project, bumping it does not touch the cached entity
+///
+@Repository
+public class ProjectVersionRepository
+{
+    private static final String TOUCH_SQL = "UPDATE projects SET data_version = NEXT VALUE FOR data_version_sequence " +
+            "WHERE id IN (:projectIds)";
+    private static final String TOUCH_BY_CALCULATIONS_SQL = "UPDATE projects SET data_version = NEXT VALUE FOR data_version_sequence " +
+            "WHERE id IN (SELECT project_id FROM calculations WHERE id IN (:calculationIds))";
+    private static final String LOCK_SQL = "SELECT id FROM projects WHERE id = ? FOR UPDATE";
+    private static final String FIND_VERSION_SQL = "SELECT data_version FROM projects WHERE id = ?";
+    private static final String FIND_VERSION_OF_ALL_SQL = "SELECT COUNT(*) || '-' || COALESCE(MAX(data_version), 0) || '-' || " +
+            "COALESCE(SUM(data_version), 0) FROM projects";
+
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    public ProjectVersionRepository(JdbcTemplate jdbcTemplate)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    ///
+    // Held until the transaction ends, writers of one project's calculations and dependency graph go one at a time
+    ///
+    public void lock(Long projectId)
+    {
+        jdbcTemplate.queryForList(LOCK_SQL, Long.class, projectId);
+    }
+
+    public void touch(Long projectId)
+    {
+        touch(Collections.singleton(projectId));
+    }
+
+    public void touch(Collection<Long> projectIds)
+    {
+        namedParameterJdbcTemplate.update(TOUCH_SQL, Collections.singletonMap("projectIds", projectIds));
+    }
+
+    public void touchByCalculationIds(Collection<Long> calculationIds)
+    {
+        namedParameterJdbcTemplate.update(TOUCH_BY_CALCULATIONS_SQL, Collections.singletonMap("calculationIds", calculationIds));
+    }
+
+    public Long findVersion(Long projectId)
+    {
+        List<Long> versions = jdbcTemplate.queryForList(FIND_VERSION_SQL, Long.class, projectId);
+
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    ///
+    // Versions only grow and are never reused, so count, max and sum together change with any write or delete
+    ///
+    public String findVersionOfAll()
+    {
+        return jdbcTemplate.queryForObject(FIND_VERSION_OF_ALL_SQL, String.class);
+    }
+}
@@ -1,14 +1,24 @@
 package com.szczwany.calculator.project.service;
 
 import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.project.model.ProjectSummary;
 
 import java.util.List;
 
 public interface IProjectService
 {
     List<Project> getProjects();
+    List<Project> getProjects(Long afterId, int size);
+    List<ProjectSummary> getProjectSummaries();
+    List<ProjectSummary> getProjectSummaries(Long afterId, int size);
+    List<Project> getProjectsWithCalculations();
+    List<Project> getProjectsWithCalculations(Long afterId, int size);
     void addProject(Project project);
     Project getProject(Long projectId);
+    ProjectSummary getProjectSummary(Long projectId);
+    Project getProjectWithCalculations(Long projectId);
+    long getDataVersion(Long projectId);
+    String getDataVersionOfAll();
     void updateProject(Project project);
     void deleteProject(Long projectId);
 }
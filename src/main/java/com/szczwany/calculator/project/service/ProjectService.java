@@ -1,24 +1,43 @@
 package com.szczwany.calculator.project.service;
 
+import com.szczwany.calculator.calculation.service.CalculationService;
+import com.szczwany.calculator.dependency.service.DependencyService;
 import com.szczwany.calculator.project.exception.ProjectNotFoundException;
 import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.project.model.ProjectSummary;
 import com.szczwany.calculator.project.repository.IProjectRepository;
+import com.szczwany.calculator.project.repository.ProjectVersionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class ProjectService implements IProjectService
 {
     private IProjectRepository projectRepository;
+    private ProjectVersionRepository projectVersionRepository;
+    private CalculationService calculationService;
+    private DependencyService dependencyService;
+    private int maxPageSize;
 
     @Autowired
-    public ProjectService(IProjectRepository projectRepository)
+    public ProjectService(IProjectRepository projectRepository, ProjectVersionRepository projectVersionRepository,
+                          CalculationService calculationService, DependencyService dependencyService,
+                          @Value("${calculator.paging.max-size}") int maxPageSize)
     {
         this.projectRepository = projectRepository;
+        this.projectVersionRepository = projectVersionRepository;
+        this.calculationService = calculationService;
+        this.dependencyService = dependencyService;
+        this.maxPageSize = maxPageSize;
     }
 
     @Override
@@ -30,6 +49,43 @@ public class ProjectService implements IProjectService
         return projects;
     }
 
+    @Override
+    public List<Project> getProjects(Long afterId, int size)
+    {
+        return projectRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageOf(size));
+    }
+
+    @Override
+    public List<ProjectSummary> getProjectSummaries()
+    {
+        return projectRepository.findSummaries();
+    }
+
+    @Override
+    public List<ProjectSummary> getProjectSummaries(Long afterId, int size)
+    {
+        return projectRepository.findSummariesByIdGreaterThan(afterId, pageOf(size));
+    }
+
+    @Override
+    public List<Project> getProjectsWithCalculations()
+    {
+        return projectRepository.findAllWithCalculations();
+    }
+
+    ///
+    // Page of ids first, join fetch with a page limit would be paged in memory
+    ///
+    @Override
+    public List<Project> getProjectsWithCalculations(Long afterId, int size)
+    {
+        List<Long> projectIds = getProjects(afterId, size).stream()
+                .map(Project::getId)
+                .collect(Collectors.toList());
+
+        return projectIds.isEmpty() ? Collections.emptyList() : projectRepository.findWithCalculationsByIdIn(projectIds);
+    }
+
     @Override
     public void addProject(Project project)
     {
@@ -45,14 +101,62 @@ public class ProjectService implements IProjectService
     }
 
     @Override
+    public ProjectSummary getProjectSummary(Long projectId)
+    {
+        return Optional.ofNullable(projectRepository.findSummary(projectId))
+                .orElseThrow(() ->
+                        new ProjectNotFoundException(projectId));
+    }
+
+    @Override
+    public Project getProjectWithCalculations(Long projectId)
+    {
+        return projectRepository.findWithCalculationsByIdIn(Collections.singleton(projectId)).stream()
+                .findFirst()
+                .orElseThrow(() ->
+                        new ProjectNotFoundException(projectId));
+    }
+
+    @Override
+    public long getDataVersion(Long projectId)
+    {
+        return Optional.ofNullable(projectVersionRepository.findVersion(projectId))
+                .orElseThrow(() ->
+                        new ProjectNotFoundException(projectId));
+    }
+
+    @Override
+    public String getDataVersionOfAll()
+    {
+        return projectVersionRepository.findVersionOfAll();
+    }
+
+    @Override
+    @Transactional
     public void updateProject(Project project)
     {
         projectRepository.save(project);
+        projectVersionRepository.touch(project.getId());
     }
 
+    ///
+    // Bulk statements in one transaction, children are never loaded into the persistence context
+    ///
     @Override
+    @Transactional
     public void deleteProject(Long projectId)
     {
-        projectRepository.delete(projectId);
+        dependencyService.deleteProjectDependencies(projectId);
+        calculationService.deleteCalculationsByProject(projectId);
+
+        if (projectRepository.deleteByProjectId(projectId) == 0)
+        {
+            throw new ProjectNotFoundException(projectId);
+        }
+    }
+
+    private PageRequest pageOf(int size)
+    {
+        return new PageRequest(0, Math.min(size, maxPageSize));
     }
 }
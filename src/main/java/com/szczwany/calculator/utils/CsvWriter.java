@@ -0,0 +1,72 @@
+package com.szczwany.calculator.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import static com.szczwany.calculator.utils.Globals.CSV_QUOTE;
+import static com.szczwany.calculator.utils.Globals.CSV_SEPARATOR;
+
+public class CsvWriter implements Closeable
+{
+    private final Writer writer;
+
+    public CsvWriter(OutputStream outputStream, String header) throws IOException
+    {
+        this.writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        this.writer.write(header);
+        this.writer.write('\n');
+    }
+
+    public void writeRow(Object... values)
+    {
+        try
+        {
+            for (int i = 0; i < values.length; i++)
+            {
+                if (i > 0)
+                {
+                    writer.write(CSV_SEPARATOR);
+                }
+
+                writeValue(values[i]);
+            }
+
+            writer.write('\n');
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        writer.close();
+    }
+
+    private void writeValue(Object value) throws IOException
+    {
+        if (value == null)
+        {
+            return;
+        }
+
+        String text = value.toString();
+
+        if (text.indexOf(CSV_SEPARATOR) < 0 && text.indexOf(CSV_QUOTE) < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0)
+        {
+            writer.write(text);
+            return;
+        }
+
+        writer.write(CSV_QUOTE);
+        writer.write(text.replace("\"", "\"\""));
+        writer.write(CSV_QUOTE);
+    }
+}
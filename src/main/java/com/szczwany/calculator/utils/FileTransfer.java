@@ -0,0 +1,53 @@
+package com.szczwany.calculator.utils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.szczwany.calculator.utils.Globals.*;
+
+public final class FileTransfer
+{
+    private FileTransfer()
+    {
+    }
+
+    ///
+    // Tomcat's sendfile hands the file to the kernel after the handler returns, without copying it through the heap.
+    // The file is opened only then, so it has to still exist after this method returns
+    ///
+    public static void send(Path file, String contentType, HttpServletRequest request, HttpServletResponse response) throws IOException
+    {
+        long size = Files.size(file);
+
+        response.setContentType(contentType);
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + file.getFileName() + "\"");
+        response.setContentLengthLong(size);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE)))
+        {
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, size);
+
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+
+            while (position < size)
+            {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+}
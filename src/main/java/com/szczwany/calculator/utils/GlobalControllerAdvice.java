@@ -1,6 +1,12 @@
 package com.szczwany.calculator.utils;
 
 import com.szczwany.calculator.calculation.exception.CalculationNotFoundException;
+import com.szczwany.calculator.dependency.exception.CyclicDependencyException;
+import com.szczwany.calculator.dependency.exception.DependentCalculationsException;
+import com.szczwany.calculator.dependency.exception.InvalidReferenceException;
+import com.szczwany.calculator.export.exception.ExportNotFoundException;
+import com.szczwany.calculator.export.exception.ExportNotReadyException;
+import com.szczwany.calculator.job.exception.JobNotFoundException;
 import com.szczwany.calculator.project.exception.ProjectNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,7 +20,8 @@ import org.springframework.web.servlet.NoHandlerFoundException;
 @ControllerAdvice
 public class GlobalControllerAdvice
 {
-    @ExceptionHandler({ProjectNotFoundException.class, CalculationNotFoundException.class, NoHandlerFoundException.class})
+    @ExceptionHandler({ProjectNotFoundException.class, CalculationNotFoundException.class, JobNotFoundException.class,
+            ExportNotFoundException.class, NoHandlerFoundException.class})
     ResponseEntity<ApiError> handleNotFound(Exception e)
     {
         ApiError apiError = new ApiError();
@@ -23,7 +30,8 @@ public class GlobalControllerAdvice
         return new ResponseEntity<>(apiError, apiError.getErrorStatus());
     }
 
-    @ExceptionHandler({MethodArgumentNotValidException.class, MethodArgumentTypeMismatchException.class, IllegalArgumentException.class})
+    @ExceptionHandler({MethodArgumentNotValidException.class, MethodArgumentTypeMismatchException.class, IllegalArgumentException.class,
+            CyclicDependencyException.class, InvalidReferenceException.class})
     public ResponseEntity<ApiError> invalidInput(Exception e)
     {
         ApiError apiError = new ApiError();
@@ -32,6 +40,15 @@ public class GlobalControllerAdvice
         return new ResponseEntity<>(apiError, apiError.getErrorStatus());
     }
 
+    @ExceptionHandler({ExportNotReadyException.class, DependentCalculationsException.class})
+    public ResponseEntity<ApiError> conflict(Exception e)
+    {
+        ApiError apiError = new ApiError();
+        apiError.initializeErrorData(HttpStatus.CONFLICT, e);
+
+        return new ResponseEntity<>(apiError, apiError.getErrorStatus());
+    }
+
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<ApiError> methodNotSupported(Exception e)
     {
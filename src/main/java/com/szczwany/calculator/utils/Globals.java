@@ -2,10 +2,6 @@ package com.szczwany.calculator.utils;
 
 public final class Globals
 {
-    // Regex
-    public static final String MATH_EXPRESSION_REGEX = "((-?[0-9]+(\\.[0-9]{1,2})?)+[-+*/]{1}[0-9]+(\\.[0-9]{1,2})?)+([-+*/]{1}[0-9]+(\\.[0-9]{1,2})?)*";
-    public static final String OPERATOR_REGEX = "[-+*/]";
-
     // Path
     public static final String PROJECTS_PATH = "/v1/projects";
     public static final String PROJECT_ID_PATH = "/{projectId}";
@@ -14,6 +10,76 @@ public final class Globals
     public static final String ALL_CALCULATIONS_PATH = "/v1/calculations";
     public static final String EMPTY_PATH = "";
     public static final String RESULT_PATH = "/results";
+    public static final String BATCH_PATH = ":batch";
+    public static final String IMPORT_PATH = "/import";
+    public static final String JOBS_PATH = "/v1/jobs";
+    public static final String JOB_ID_PATH = "/{jobId}";
+    public static final String JOB_EVENTS_PATH = "/events";
+    public static final String CACHES_PATH = "/v1/caches";
+    public static final String RESULT_CACHE_PATH = "/results";
+    public static final String EXPRESSION_CACHE_PATH = "/expressions";
+    public static final String ENTITY_CACHE_PATH = "/entities";
+    public static final String EXPORTS_PATH = "/v1/exports";
+    public static final String EXPORT_ID_PATH = "/{jobId}";
+    public static final String EXPORT_FILE_PATH = "/file";
+    public static final String EVALUATE_PATH = "/v1/evaluate";
+
+    // Beans
+    public static final String EVALUATION_EXECUTOR = "evaluationExecutor";
+    public static final String STATELESS_EVALUATION_EXECUTOR = "statelessEvaluationExecutor";
+    public static final String EXPORT_EXECUTOR = "exportExecutor";
+    public static final String JOB_EVENT_SCHEDULER = "jobEventScheduler";
+
+    // Persistence
+    public static final String ID_GENERATOR = "org.hibernate.id.enhanced.SequenceStyleGenerator";
+    public static final String ID_OPTIMIZER = "pooled-lo";
+    public static final String ID_ALLOCATION_SIZE = "50";
+
+    // Caches
+    public static final String RESULT_CACHE = "results";
+    public static final String EXPRESSION_CACHE = "expressions";
+    public static final String PROJECT_CACHE = "projects";
+    public static final String CALCULATION_CACHE = "calculations";
+    public static final String CALCULATIONS_BY_PROJECT_CACHE = "calculations-by-project";
+    public static final String CACHEABLE_HINT = "org.hibernate.cacheable";
+    public static final String CACHE_REGION_HINT = "org.hibernate.cacheRegion";
+
+    // Media types
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final String APPLICATION_GZIP_VALUE = "application/gzip";
+
+    // ETags
+    public static final String JSON_VARIANT = "json";
+    public static final String NDJSON_VARIANT = "ndjson";
+    public static final String EXPANDED_VARIANT = "expanded";
+
+    // Jobs
+    public static final String PROGRESS_EVENT = "progress";
+    public static final String CANCELLED_BY_REQUEST = "cancelled by request";
+    public static final String DEADLINE_EXCEEDED = "deadline exceeded";
+
+    // Import
+    public static final String CSV_HEADER = "description,expression";
+    public static final char CSV_SEPARATOR = ',';
+    public static final char CSV_QUOTE = '"';
+    public static final String MALFORMED_ROW = "malformed row";
+    public static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    // Export
+    public static final String EXPORT_CSV_HEADER = "id,description,expression,result";
+    public static final String EXPORT_FILE_PREFIX = "calculations-";
+    public static final String GZIP_EXTENSION = ".gz";
+    public static final int EXPORT_BUFFER_SIZE = 65536;
+    public static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    public static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    public static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    public static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    // Paging
+    public static final int MAX_BATCH_SIZE = 50000;
+    public static final String EXPAND_CALCULATIONS = "calculations";
+    public static final String FETCH_SIZE = "500";
 
     // Date
     public static final String DATE_TIME_FORMAT = "dd-MM-yyyy HH:mm:ss";
@@ -22,16 +88,22 @@ public final class Globals
     // Tests
     public static final int NUM_OF_PROJECTS_TEST = 10;
     public static final int NUM_OF_CALCULATIONS_TEST = 10;
+    public static final int BATCH_SIZE_TEST = 4;
+    public static final int PAGE_SIZE_TEST = 1000;
     public static final Long TEST_ID = 77L;
     public static final String TEST_NAME = "Test name";
     public static final String TEST_DESCRIPTION = "Test description";
     public static final String TEST_EXPRESSION = "2+2";
+    public static final String JOB_FAILURE_TEST = "result write failed";
 
     // Signs
-   public static final String PLUS_SIGN = "+";
-   public static final String MINUS_SIGN = "-";
-   public static final String MULTIPLY_SIGN = "*";
-   public static final String DIVIDE_SIGN = "/";
+    public static final char PLUS_SIGN = '+';
+    public static final char MINUS_SIGN = '-';
+    public static final char MULTIPLY_SIGN = '*';
+    public static final char DIVIDE_SIGN = '/';
+    public static final char DOT_SIGN = '.';
+    public static final char REFERENCE_SIGN = '#';
+    public static final int MAX_REFERENCE_DIGITS = 18;
 
     private Globals()
     {
@@ -0,0 +1,43 @@
+package com.szczwany.calculator.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+public class NdjsonWriter implements Closeable
+{
+    private final ObjectWriter objectWriter;
+    private final JsonGenerator generator;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException
+    {
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(outputStream);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    public void write(Object value)
+    {
+        try
+        {
+            objectWriter.writeValue(generator, value);
+            generator.writeRaw('\n');
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        generator.close();
+    }
+}
@@ -1,5 +1,6 @@
 package com.szczwany.calculator.utils;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -7,6 +8,14 @@ import java.net.URI;
 
 public final class Response
 {
+    ///
+    // Representations of one URL differ by variant, checkNotModified adds the quotes
+    ///
+    public static String eTag(String variant, Object version)
+    {
+        return variant + "-" + version;
+    }
+
     public static ResponseEntity<?> statusNoContent()
     {
         return ResponseEntity.noContent().build();
@@ -22,6 +31,21 @@ public final class Response
         return ResponseEntity.ok().body(t);
     }
 
+    public static <T> ResponseEntity<T> statusInternalServerErrorWithBody(T t)
+    {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(t);
+    }
+
+    public static <T> ResponseEntity<T> statusAccepted(String path, Long id, T t)
+    {
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path(path)
+                .buildAndExpand(id)
+                .toUri();
+
+        return ResponseEntity.accepted().location(location).body(t);
+    }
+
     public static ResponseEntity<Long> statusCreated(String path, Long id)
     {
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -31,4 +55,14 @@ public final class Response
 
         return ResponseEntity.created(location).body(id);
     }
+
+    public static <T> ResponseEntity<T> statusCreated(String path, Long id, T t)
+    {
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path(path)
+                .buildAndExpand(id)
+                .toUri();
+
+        return ResponseEntity.created(location).body(t);
+    }
 }
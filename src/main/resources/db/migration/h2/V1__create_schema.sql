@@ -0,0 +1,39 @@
+CREATE SEQUENCE projects_sequence START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE calculations_sequence START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE calculation_dependencies_sequence START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE projects (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_projects PRIMARY KEY (id)
+);
+
+CREATE TABLE calculations (
+    id BIGINT NOT NULL,
+    project_id BIGINT NOT NULL,
+    description VARCHAR(100) NOT NULL,
+    expression VARCHAR(100) NOT NULL,
+    result DECIMAL(19, 2),
+    updated_at TIMESTAMP,
+    expression_hash BIGINT,
+    result_hash BIGINT,
+    CONSTRAINT pk_calculations PRIMARY KEY (id)
+);
+
+-- findByProject / findByProjectAndId / keyset pages, also serves the foreign key below
+CREATE INDEX idx_calculations_project_id_id ON calculations (project_id, id);
+CREATE INDEX idx_calculations_updated_at ON calculations (updated_at);
+
+ALTER TABLE calculations ADD CONSTRAINT fk_calculations_project FOREIGN KEY (project_id) REFERENCES projects (id);
+
+CREATE TABLE calculation_dependencies (
+    id BIGINT NOT NULL,
+    project_id BIGINT NOT NULL,
+    calculation_id BIGINT NOT NULL,
+    depends_on_id BIGINT NOT NULL,
+    CONSTRAINT pk_calculation_dependencies PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_calculation_dependencies_project_id ON calculation_dependencies (project_id);
+CREATE INDEX idx_calculation_dependencies_calculation_id ON calculation_dependencies (calculation_id);
+CREATE INDEX idx_calculation_dependencies_depends_on_id ON calculation_dependencies (depends_on_id);
@@ -0,0 +1,4 @@
+-- Bumped on every write to a project or its calculations, served as the ETag of their GET responses
+CREATE SEQUENCE data_version_sequence;
+
+ALTER TABLE projects ADD COLUMN data_version BIGINT DEFAULT (NEXT VALUE FOR data_version_sequence) NOT NULL;
@@ -0,0 +1,85 @@
+package com.szczwany.calculator.cache;
+
+import com.szczwany.calculator.cache.controller.CacheController;
+import com.szczwany.calculator.cache.model.CacheStatistics;
+import com.szczwany.calculator.cache.service.EntityCacheService;
+import com.szczwany.calculator.cache.service.ExpressionCacheService;
+import com.szczwany.calculator.cache.service.ResultCacheService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+
+import static com.szczwany.calculator.utils.Globals.*;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(value = CacheController.class, secure = false)
+public class CacheControllerTests
+{
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ResultCacheService resultCacheService;
+
+    @MockBean
+    private ExpressionCacheService expressionCacheService;
+
+    @MockBean
+    private EntityCacheService entityCacheService;
+
+    @Test
+    public void whenGetResultCacheStatistics_thenWillReturnStatistics() throws Exception
+    {
+        given(resultCacheService.getStatistics()).willReturn(new CacheStatistics(RESULT_CACHE, 2, 3, 1, 0.75, 0));
+
+        mockMvc.perform(get(CACHES_PATH + RESULT_CACHE_PATH)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is(RESULT_CACHE)))
+                .andExpect(jsonPath("$.size", is(2)))
+                .andExpect(jsonPath("$.hitCount", is(3)))
+                .andExpect(jsonPath("$.hitRate", is(0.75)));
+    }
+
+    @Test
+    public void whenGetExpressionCacheStatistics_thenWillReturnStatistics() throws Exception
+    {
+        given(expressionCacheService.getStatistics()).willReturn(new CacheStatistics(EXPRESSION_CACHE, 5, 20, 5, 0.8, 1));
+
+        mockMvc.perform(get(CACHES_PATH + EXPRESSION_CACHE_PATH)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is(EXPRESSION_CACHE)))
+                .andExpect(jsonPath("$.missCount", is(5)))
+                .andExpect(jsonPath("$.evictionCount", is(1)));
+    }
+
+    @Test
+    public void whenGetEntityCacheStatistics_thenWillReturnStatisticsOfEveryRegion() throws Exception
+    {
+        given(entityCacheService.getStatistics()).willReturn(Arrays.asList(
+                new CacheStatistics(PROJECT_CACHE, 3, 9, 1, 0.9, 0),
+                new CacheStatistics(CALCULATION_CACHE, 10, 0, 10, 0.0, 0)));
+
+        mockMvc.perform(get(CACHES_PATH + ENTITY_CACHE_PATH)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name", is(PROJECT_CACHE)))
+                .andExpect(jsonPath("$[0].hitRate", is(0.9)))
+                .andExpect(jsonPath("$[1].missCount", is(10)));
+    }
+}
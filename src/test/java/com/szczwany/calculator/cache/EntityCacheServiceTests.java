@@ -0,0 +1,58 @@
+package com.szczwany.calculator.cache;
+
+import com.szczwany.calculator.cache.model.CacheStatistics;
+import com.szczwany.calculator.cache.service.EntityCacheService;
+import com.szczwany.calculator.project.repository.IProjectRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+
+import static com.szczwany.calculator.utils.Globals.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+public class EntityCacheServiceTests
+{
+    // Committed by data-h2.sql, rows inserted in the test transaction are never cached
+    private static final Long SEED_PROJECT_ID = 1L;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private IProjectRepository projectRepository;
+
+    private EntityCacheService entityCacheService = new EntityCacheService();
+
+    @Test
+    public void whenGetStatistics_thenEveryRegionIsReported()
+    {
+        List<CacheStatistics> statistics = entityCacheService.getStatistics();
+
+        assertThat(statistics).extracting(CacheStatistics::getName)
+                .containsExactly(PROJECT_CACHE, CALCULATION_CACHE, CALCULATIONS_BY_PROJECT_CACHE);
+    }
+
+    @Test
+    public void whenFindCachedProject_thenHitIsCounted()
+    {
+        projectRepository.findOne(SEED_PROJECT_ID);
+        entityManager.clear();
+        long hitCount = projectCacheStatistics().getHitCount();
+
+        projectRepository.findOne(SEED_PROJECT_ID);
+
+        assertThat(projectCacheStatistics().getHitCount()).isGreaterThan(hitCount);
+    }
+
+    private CacheStatistics projectCacheStatistics()
+    {
+        return entityCacheService.getStatistics().get(0);
+    }
+}
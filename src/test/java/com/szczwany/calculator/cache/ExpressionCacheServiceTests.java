@@ -0,0 +1,59 @@
+package com.szczwany.calculator.cache;
+
+import com.szczwany.calculator.cache.model.CacheStatistics;
+import com.szczwany.calculator.cache.service.ExpressionCacheService;
+import com.szczwany.calculator.calculator.CompiledExpression;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+public class ExpressionCacheServiceTests
+{
+    private ExpressionCacheService expressionCacheService;
+
+    @Before
+    public void setUp()
+    {
+        expressionCacheService = new ExpressionCacheService(100);
+    }
+
+    @Test
+    public void whenCompileSameExpressionWithDifferentReferences_thenParsedProgramIsSharedAndValuesAreBound()
+    {
+        CompiledExpression first = expressionCacheService.compile("#1*2+1", id -> BigDecimal.valueOf(3));
+        CompiledExpression second = expressionCacheService.compile("#1*02+1", id -> BigDecimal.valueOf(5));
+
+        CacheStatistics statistics = expressionCacheService.getStatistics();
+
+        assertThat(first.evaluate()).isEqualTo(BigDecimal.valueOf(7));
+        assertThat(second.evaluate()).isEqualTo(BigDecimal.valueOf(11));
+        assertThat(statistics.getHitCount()).isEqualTo(1);
+        assertThat(statistics.getMissCount()).isEqualTo(1);
+        assertThat(statistics.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenCompileExpressionWithoutReferences_thenSameCompiledExpressionIsReturned()
+    {
+        CompiledExpression first = expressionCacheService.compile("2+2*3", id -> null);
+        CompiledExpression second = expressionCacheService.compile("2+2*3", id -> null);
+
+        assertThat(first).isSameAs(second);
+        assertThat(first.evaluate()).isEqualTo(BigDecimal.valueOf(8));
+    }
+
+    @Test
+    public void whenCompileInvalidExpressionOrUnresolvedReference_thenReturnNull()
+    {
+        assertThat(expressionCacheService.compile("2++2", id -> null)).isNull();
+        assertThat(expressionCacheService.compile("#1+2", id -> null)).isNull();
+        assertThat(expressionCacheService.compile("2/#1", id -> BigDecimal.ZERO)).isNull();
+        assertThat(expressionCacheService.getStatistics().getSize()).isEqualTo(2);
+    }
+}
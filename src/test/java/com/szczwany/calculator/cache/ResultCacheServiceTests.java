@@ -0,0 +1,76 @@
+package com.szczwany.calculator.cache;
+
+import com.szczwany.calculator.cache.model.CacheStatistics;
+import com.szczwany.calculator.cache.service.ResultCacheService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+public class ResultCacheServiceTests
+{
+    private ResultCacheService resultCacheService;
+
+    @Before
+    public void setUp()
+    {
+        resultCacheService = new ResultCacheService(100);
+    }
+
+    @Test
+    public void whenEvaluateSameExpressionTwice_thenSecondEvaluationIsCacheHit()
+    {
+        BigDecimal first = resultCacheService.evaluate("2+2*3");
+        BigDecimal second = resultCacheService.evaluate("2+2*3");
+
+        CacheStatistics statistics = resultCacheService.getStatistics();
+
+        assertThat(first).isEqualTo(second).isEqualTo(BigDecimal.valueOf(8));
+        assertThat(statistics.getHitCount()).isEqualTo(1);
+        assertThat(statistics.getMissCount()).isEqualTo(1);
+        assertThat(statistics.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenEvaluateExpressionsDifferingInLeadingZeros_thenTheyShareCacheEntry()
+    {
+        resultCacheService.evaluate("2+03.50");
+        BigDecimal result = resultCacheService.evaluate("002+3.50");
+
+        assertThat(result).isEqualTo(new BigDecimal("5.50"));
+        assertThat(resultCacheService.getStatistics().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenEvaluateExpressionsDifferingInScale_thenTheyDoNotShareCacheEntry()
+    {
+        resultCacheService.evaluate("2+3.5");
+        BigDecimal result = resultCacheService.evaluate("2+3.50");
+
+        assertThat(result).isEqualTo(new BigDecimal("5.50"));
+        assertThat(resultCacheService.getStatistics().getHitCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void whenEvaluateExpressionWithReferences_thenNothingIsCached()
+    {
+        BigDecimal result = resultCacheService.evaluate("#1+2");
+
+        assertThat(result).isNull();
+        assertThat(resultCacheService.getStatistics().getSize()).isEqualTo(0);
+        assertThat(resultCacheService.getStatistics().getMissCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void whenEvaluateInvalidExpression_thenResultIsNullAndNotCached()
+    {
+        assertThat(resultCacheService.evaluate("2++2")).isNull();
+        assertThat(resultCacheService.evaluate("1/0")).isNull();
+        assertThat(resultCacheService.getStatistics().getSize()).isEqualTo(0);
+    }
+}
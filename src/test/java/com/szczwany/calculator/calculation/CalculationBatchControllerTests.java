@@ -0,0 +1,142 @@
+package com.szczwany.calculator.calculation;
+
+import com.szczwany.calculator.calculation.controller.CalculationBatchController;
+import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.service.CalculationWriteService;
+import com.szczwany.calculator.dependency.exception.InvalidReferenceException;
+import com.szczwany.calculator.helpers.CalculationFactory;
+import com.szczwany.calculator.helpers.ProjectFactory;
+import com.szczwany.calculator.project.exception.ProjectNotFoundException;
+import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.project.service.ProjectService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.szczwany.calculator.helpers.ObjectConverter.convertToJson;
+import static com.szczwany.calculator.utils.Globals.*;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(value = CalculationBatchController.class, secure = false)
+public class CalculationBatchControllerTests
+{
+    private Project project;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProjectService projectService;
+
+    @MockBean
+    private CalculationWriteService calculationWriteService;
+
+    @Before
+    public void setUp()
+    {
+        project = ProjectFactory.createProjectWithId();
+        when(projectService.getProject(project.getId())).thenReturn(project);
+
+        doAnswer(invocation ->
+        {
+            List<Calculation> calculations = invocation.getArgumentAt(1, List.class);
+            long id = TEST_ID;
+
+            for (Calculation calculation : calculations)
+            {
+                calculation.setId(id++);
+            }
+
+            return null;
+        }).when(calculationWriteService).addCalculations(eq(project.getId()), anyListOf(Calculation.class));
+    }
+
+    @Test
+    public void givenCalculations_whenAddBatch_thenWillReturnStatusCreatedWithIds() throws Exception
+    {
+        List<Calculation> calculations = new ArrayList<>();
+
+        for (int i = 0; i < NUM_OF_CALCULATIONS_TEST; i++)
+        {
+            calculations.add(CalculationFactory.createCalculation());
+        }
+
+        mockMvc.perform(post(CALCULATIONS_PATH + BATCH_PATH, project.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(convertToJson(calculations)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(NUM_OF_CALCULATIONS_TEST)))
+                .andExpect(jsonPath("$[0]", is(TEST_ID.intValue())));
+
+        verify(calculationWriteService).addCalculations(eq(project.getId()), anyListOf(Calculation.class));
+    }
+
+    @Test
+    public void givenInvalidCalculation_whenAddBatch_thenWillReturnStatusBadRequest() throws Exception
+    {
+        Calculation invalid = CalculationFactory.createCalculation();
+        invalid.setExpression("2++2");
+
+        mockMvc.perform(post(CALCULATIONS_PATH + BATCH_PATH, project.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(convertToJson(Arrays.asList(CalculationFactory.createCalculation(), invalid))))
+                .andExpect(status().isBadRequest());
+
+        verify(calculationWriteService, never()).addCalculations(anyLong(), anyListOf(Calculation.class));
+    }
+
+    @Test
+    public void givenEmptyBatch_whenAddBatch_thenWillReturnStatusBadRequest() throws Exception
+    {
+        mockMvc.perform(post(CALCULATIONS_PATH + BATCH_PATH, project.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(convertToJson(Collections.emptyList())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void givenInvalidReference_whenAddBatch_thenWillReturnStatusBadRequest() throws Exception
+    {
+        Calculation referencing = CalculationFactory.createCalculation();
+        referencing.setExpression("#" + TEST_ID);
+        doThrow(new InvalidReferenceException(project.getId(), TEST_ID))
+                .when(calculationWriteService).addCalculations(eq(project.getId()), anyListOf(Calculation.class));
+
+        mockMvc.perform(post(CALCULATIONS_PATH + BATCH_PATH, project.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(convertToJson(Collections.singletonList(referencing))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void givenMissingProject_whenAddBatch_thenWillReturnStatusNotFound() throws Exception
+    {
+        Long missingProjectId = project.getId() + 1;
+        when(projectService.getProject(missingProjectId)).thenThrow(new ProjectNotFoundException(missingProjectId));
+
+        mockMvc.perform(post(CALCULATIONS_PATH + BATCH_PATH, missingProjectId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(convertToJson(Collections.singletonList(CalculationFactory.createCalculation()))))
+                .andExpect(status().isNotFound());
+    }
+}
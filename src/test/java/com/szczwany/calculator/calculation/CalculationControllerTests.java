@@ -3,9 +3,15 @@ package com.szczwany.calculator.calculation;
 import com.szczwany.calculator.calculation.controller.CalculationController;
 import com.szczwany.calculator.calculation.exception.CalculationNotFoundException;
 import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.ImportSummary;
+import com.szczwany.calculator.calculation.service.CalculationImportService;
 import com.szczwany.calculator.calculation.service.CalculationService;
+import com.szczwany.calculator.calculation.service.CalculationWriteService;
+import com.szczwany.calculator.dependency.exception.CyclicDependencyException;
+import com.szczwany.calculator.dependency.exception.DependentCalculationsException;
 import com.szczwany.calculator.helpers.CalculationFactory;
 import com.szczwany.calculator.helpers.ProjectFactory;
+import com.szczwany.calculator.project.exception.ProjectNotFoundException;
 import com.szczwany.calculator.project.model.Project;
 import com.szczwany.calculator.project.service.ProjectService;
 import org.assertj.core.util.Lists;
@@ -13,22 +19,34 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.util.Collections;
 import java.util.List;
 
 import static com.szczwany.calculator.helpers.ObjectConverter.convertToJson;
 import static com.szczwany.calculator.utils.Globals.*;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringContains.containsString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -47,6 +65,15 @@ public class CalculationControllerTests
     @MockBean
     private CalculationService calculationService;
 
+    @MockBean
+    private CalculationWriteService calculationWriteService;
+
+    @MockBean
+    private CalculationImportService calculationImportService;
+
+    @Value("${calculator.paging.default-size}")
+    private int defaultPageSize;
+
     @Before
     public void setUp()
     {
@@ -58,7 +85,7 @@ public class CalculationControllerTests
     public void givenCalculations_whenGetCalculationsByProject_thenWillReturnStatusOk() throws Exception
     {
         List<Calculation> calculations = CalculationFactory.createCalculations(project, NUM_OF_CALCULATIONS_TEST);
-        given(calculationService.getCalculationsByProject(project)).willReturn(calculations);
+        given(calculationService.getCalculationsByProject(project, 0L, defaultPageSize)).willReturn(calculations);
 
         mockMvc.perform(get(CALCULATIONS_PATH, project.getId())
                 .contentType(MediaType.APPLICATION_JSON))
@@ -69,7 +96,7 @@ public class CalculationControllerTests
     public void givenCalculations_whenGetCalculationsByProject_thenWillReturnStatusOkAndExpectSize() throws Exception
     {
         List<Calculation> calculations = CalculationFactory.createCalculations(project, NUM_OF_CALCULATIONS_TEST);
-        given(calculationService.getCalculationsByProject(project)).willReturn(calculations);
+        given(calculationService.getCalculationsByProject(project, 0L, defaultPageSize)).willReturn(calculations);
 
         mockMvc.perform(get(CALCULATIONS_PATH, project.getId())
                 .contentType(MediaType.APPLICATION_JSON))
@@ -80,7 +107,7 @@ public class CalculationControllerTests
     @Test
     public void givenEmptyCalculations_whenGetCalculationsByProject_thenWillReturnStatusNoContent() throws Exception
     {
-        given(calculationService.getCalculationsByProject(project)).willReturn(Lists.emptyList());
+        given(calculationService.getCalculationsByProject(project, 0L, defaultPageSize)).willReturn(Lists.emptyList());
 
         mockMvc.perform(get(CALCULATIONS_PATH, project.getId())
                 .contentType(MediaType.APPLICATION_JSON))
@@ -92,7 +119,7 @@ public class CalculationControllerTests
     {
         Calculation calculation = CalculationFactory.createCalculationWithProject(project);
 
-        doNothing().when(calculationService).addCalculation(calculation);
+        doNothing().when(calculationWriteService).addCalculation(project.getId(), calculation);
 
         mockMvc.perform(post(CALCULATIONS_PATH, project.getId())
                 .contentType(MediaType.APPLICATION_JSON)
@@ -105,7 +132,7 @@ public class CalculationControllerTests
     {
         Calculation calculation = CalculationFactory.createEmptyCalculation();
 
-        doNothing().when(calculationService).addCalculation(calculation);
+        doNothing().when(calculationWriteService).addCalculation(project.getId(), calculation);
 
         mockMvc.perform(post(CALCULATIONS_PATH, project.getId())
                 .contentType(MediaType.APPLICATION_JSON)
@@ -113,6 +140,19 @@ public class CalculationControllerTests
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void givenInvalidExpression_whenAddCalculation_thenExpectStatusBadRequestWithErrorPosition() throws Exception
+    {
+        Calculation calculation = CalculationFactory.createCalculationWithProject(project);
+        calculation.setExpression("2+2*");
+
+        mockMvc.perform(post(CALCULATIONS_PATH, project.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(convertToJson(calculation)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage", containsString("invalid math expression at position 4")));
+    }
+
     @Test
     public void givenCalculationId_whenGetCalculation_thenWillReturnCalculation() throws Exception
     {
@@ -146,8 +186,7 @@ public class CalculationControllerTests
     {
         Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
 
-        when(calculationService.getCalculation(project, calculation.getId())).thenReturn(calculation);
-        doNothing().when(calculationService).updateCalculation(calculation);
+        when(calculationWriteService.updateCalculation(eq(project.getId()), eq(calculation.getId()), any(Calculation.class))).thenReturn(true);
 
         mockMvc.perform(put(CALCULATIONS_PATH + CALCULATION_ID_PATH, project.getId(), calculation.getId())
                 .contentType(MediaType.APPLICATION_JSON)
@@ -160,8 +199,7 @@ public class CalculationControllerTests
     {
         Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
 
-        when(calculationService.getCalculation(project, calculation.getId())).thenReturn(calculation);
-        doNothing().when(calculationService).updateCalculation(calculation);
+        when(calculationWriteService.updateCalculation(eq(project.getId()), eq(calculation.getId()), any(Calculation.class))).thenReturn(true);
 
         mockMvc.perform(put(CALCULATIONS_PATH + CALCULATION_ID_PATH, project.getId(), calculation.getId())
                 .contentType(MediaType.APPLICATION_JSON)
@@ -174,7 +212,7 @@ public class CalculationControllerTests
     {
         Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
 
-        when(calculationService.getCalculation(project, calculation.getId())).thenThrow(new CalculationNotFoundException(calculation.getId()));
+        when(calculationWriteService.updateCalculation(eq(project.getId()), eq(calculation.getId()), any(Calculation.class))).thenReturn(false);
 
         mockMvc.perform(put(CALCULATIONS_PATH + CALCULATION_ID_PATH, project.getId(), calculation.getId())
                 .contentType(MediaType.APPLICATION_JSON)
@@ -182,13 +220,26 @@ public class CalculationControllerTests
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void givenMissingProject_whenUpdateCalculation_thenWillReturnProjectNotFound() throws Exception
+    {
+        Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
+
+        when(projectService.getProject(TEST_ID)).thenThrow(new ProjectNotFoundException(TEST_ID));
+
+        mockMvc.perform(put(CALCULATIONS_PATH + CALCULATION_ID_PATH, TEST_ID, calculation.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(convertToJson(calculation)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage", is("project '" + TEST_ID + "' does not exist")));
+    }
+
     @Test
     public void givenCalculationId_whenDeleteCalculation_thenWillReturnStatusNoContent() throws Exception
     {
         Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
 
-        when(calculationService.getCalculation(project, calculation.getId())).thenReturn(calculation);
-        doNothing().when(calculationService).deleteCalculation(calculation.getId());
+        when(calculationWriteService.deleteCalculation(project.getId(), calculation.getId())).thenReturn(true);
 
         mockMvc.perform(delete(CALCULATIONS_PATH + CALCULATION_ID_PATH, project.getId(), calculation.getId()))
                 .andExpect(status().isNoContent());
@@ -199,9 +250,109 @@ public class CalculationControllerTests
     {
         Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
 
-        when(calculationService.getCalculation(project, calculation.getId())).thenThrow(new CalculationNotFoundException(calculation.getId()));
+        when(calculationWriteService.deleteCalculation(project.getId(), calculation.getId())).thenReturn(false);
 
         mockMvc.perform(delete(CALCULATIONS_PATH + CALCULATION_ID_PATH, project.getId(), calculation.getId()))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage", is("calculation '" + calculation.getId() + "' does not exist")));
+    }
+
+    @Test
+    public void givenReferencedCalculation_whenDeleteCalculation_thenWillReturnStatusConflict() throws Exception
+    {
+        Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
+
+        when(calculationWriteService.deleteCalculation(project.getId(), calculation.getId()))
+                .thenThrow(new DependentCalculationsException(calculation.getId(), Collections.singletonList(TEST_ID + 1)));
+
+        mockMvc.perform(delete(CALCULATIONS_PATH + CALCULATION_ID_PATH, project.getId(), calculation.getId()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorMessage", containsString("is referenced by calculations")));
+    }
+
+    @Test
+    public void givenMissingProject_whenDeleteCalculation_thenWillReturnProjectNotFound() throws Exception
+    {
+        when(calculationWriteService.deleteCalculation(TEST_ID, TEST_ID)).thenReturn(false);
+        when(projectService.getProject(TEST_ID)).thenThrow(new ProjectNotFoundException(TEST_ID));
+
+        mockMvc.perform(delete(CALCULATIONS_PATH + CALCULATION_ID_PATH, TEST_ID, TEST_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage", is("project '" + TEST_ID + "' does not exist")));
+    }
+
+    @Test
+    public void givenCyclicReference_whenUpdateCalculation_thenWillReturnStatusBadRequest() throws Exception
+    {
+        Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
+        calculation.setExpression("#" + calculation.getId() + "+1");
+
+        when(calculationWriteService.updateCalculation(eq(project.getId()), eq(calculation.getId()), any(Calculation.class)))
+                .thenThrow(new CyclicDependencyException(calculation.getId(), calculation.getId()));
+
+        mockMvc.perform(put(CALCULATIONS_PATH + CALCULATION_ID_PATH, project.getId(), calculation.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(convertToJson(calculation)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage", containsString("creates a cycle")));
+    }
+
+    @Test
+    public void givenCsvBody_whenImportCalculations_thenWillReturnSummary() throws Exception
+    {
+        ImportSummary summary = new ImportSummary();
+        summary.accept(1);
+        summary.reject(2, MALFORMED_ROW);
+        given(calculationImportService.importCsv(eq(project), any(InputStream.class), eq(true))).willReturn(summary);
+
+        mockMvc.perform(post(CALCULATIONS_PATH + IMPORT_PATH, project.getId())
+                .param("evaluate", "true")
+                .contentType(TEXT_CSV_VALUE)
+                .content("First,2+2\nbroken row"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.rejectedRows[0].line", is(2)));
+    }
+
+    @Test
+    public void givenNdjsonBody_whenImportCalculations_thenUseNdjsonImport() throws Exception
+    {
+        given(calculationImportService.importNdjson(eq(project), any(InputStream.class), eq(false))).willReturn(new ImportSummary());
+
+        mockMvc.perform(post(CALCULATIONS_PATH + IMPORT_PATH, project.getId())
+                .contentType(APPLICATION_NDJSON_VALUE)
+                .content("{\"description\":\"First\",\"expression\":\"2+2\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(0)));
+
+        verify(calculationImportService).importNdjson(eq(project), any(InputStream.class), eq(false));
+    }
+
+    @Test
+    public void givenUnchangedProject_whenGetCalculationsByProjectIfNoneMatch_thenWillReturnStatusNotModified() throws Exception
+    {
+        given(projectService.getDataVersion(project.getId())).willReturn(7L);
+
+        mockMvc.perform(get(CALCULATIONS_PATH, project.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + JSON_VARIANT + "-7\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + JSON_VARIANT + "-7\""));
+
+        verify(projectService, never()).getProject(project.getId());
+        verify(calculationService, never()).getCalculationsByProject(any(Project.class), anyLong(), anyInt());
+    }
+
+    @Test
+    public void givenUnchangedProject_whenStreamCalculationsByProjectWithJsonETag_thenWillReturnStatusOk() throws Exception
+    {
+        given(projectService.getDataVersion(project.getId())).willReturn(7L);
+
+        mockMvc.perform(get(CALCULATIONS_PATH, project.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + JSON_VARIANT + "-7\"")
+                .accept(APPLICATION_NDJSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + NDJSON_VARIANT + "-7\""));
     }
 }
@@ -0,0 +1,151 @@
+package com.szczwany.calculator.calculation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.szczwany.calculator.cache.service.ResultCacheService;
+import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.ImportSummary;
+import com.szczwany.calculator.calculation.service.CalculationImportService;
+import com.szczwany.calculator.calculation.service.CalculationWriteService;
+import com.szczwany.calculator.dependency.exception.InvalidReferenceException;
+import com.szczwany.calculator.dependency.service.DependencyService;
+import com.szczwany.calculator.helpers.ProjectFactory;
+import com.szczwany.calculator.project.model.Project;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.szczwany.calculator.utils.Globals.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(SpringRunner.class)
+public class CalculationImportServiceTests
+{
+    private Project project;
+    private List<List<Calculation>> persistedBatches;
+
+    private DependencyService dependencyService;
+    private CalculationImportService calculationImportService;
+
+    @Before
+    public void setUp()
+    {
+        project = ProjectFactory.createProjectWithId();
+        persistedBatches = new ArrayList<>();
+
+        CalculationWriteService calculationWriteService = mock(CalculationWriteService.class);
+        dependencyService = mock(DependencyService.class);
+        calculationImportService = new CalculationImportService(calculationWriteService, dependencyService, new ResultCacheService(100),
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), BATCH_SIZE_TEST);
+
+        doAnswer(invocation ->
+        {
+            persistedBatches.add(new ArrayList<>(invocation.getArgumentAt(1, List.class)));
+
+            return null;
+        }).when(calculationWriteService).addCalculations(eq(project.getId()), anyListOf(Calculation.class));
+    }
+
+    @Test
+    public void whenImportCsv_thenAcceptValidRowsInBatchesAndReportRejectedLines() throws Exception
+    {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+
+        for (int i = 0; i < BATCH_SIZE_TEST * 2 + 1; i++)
+        {
+            csv.append("Row ").append(i).append(',').append(i).append("+1\n");
+        }
+
+        csv.append("no separator\n").append("Invalid,2++2\n").append('\n').append("\"Quoted, with comma\",3*3\n");
+
+        ImportSummary summary = calculationImportService.importCsv(project, stream(csv.toString()), false);
+
+        assertThat(summary.getAccepted()).isEqualTo(BATCH_SIZE_TEST * 2 + 2);
+        assertThat(summary.getRejected()).isEqualTo(2);
+        assertThat(summary.getRejectedRows()).extracting("line").containsExactly(BATCH_SIZE_TEST * 2 + 3L, BATCH_SIZE_TEST * 2 + 4L);
+        assertThat(summary.getRejectedRows().get(0).getReason()).isEqualTo(MALFORMED_ROW);
+        assertThat(persistedBatches).hasSize(3);
+        assertThat(persistedBatches.get(0)).hasSize(BATCH_SIZE_TEST);
+
+        Calculation quoted = persistedBatches.get(2).get(1);
+        assertThat(quoted.getDescription()).isEqualTo("Quoted, with comma");
+        assertThat(quoted.getProject()).isEqualTo(project);
+        assertThat(quoted.getResult()).isNull();
+    }
+
+    @Test
+    public void whenImportWithEvaluate_thenResultsArePersistedWithRows() throws Exception
+    {
+        ImportSummary summary = calculationImportService.importCsv(project, stream("First,2+2\nSecond,#1*2\nThird,1/0\n"), true);
+
+        List<Calculation> calculations = persistedBatches.get(0);
+
+        assertThat(summary.getAccepted()).isEqualTo(3);
+        assertThat(summary.getEvaluated()).isEqualTo(1);
+        assertThat(calculations.get(0).getResult()).isEqualByComparingTo(BigDecimal.valueOf(4));
+        assertThat(calculations.get(0).getResultHash()).isNotNull();
+        assertThat(calculations.get(1).getResult()).isNull();
+        assertThat(calculations.get(2).getResult()).isNull();
+        assertThat(calculations.get(1).getExpression()).isEqualTo("#1*2");
+        verify(dependencyService).validateReferences(project.getId(), null, "#1*2");
+    }
+
+    @Test
+    public void whenImportNdjson_thenIgnoreClientIdsAndRejectMalformedJson() throws Exception
+    {
+        String ndjson = "{\"id\":1,\"description\":\"First\",\"expression\":\"2+2\",\"result\":10}\n" +
+                "{\"description\":\"Broken\"\n" +
+                "{\"description\":\"\",\"expression\":\"2+2\"}\n";
+
+        ImportSummary summary = calculationImportService.importNdjson(project, stream(ndjson), false);
+
+        assertThat(summary.getAccepted()).isEqualTo(1);
+        assertThat(summary.getRejectedRows()).extracting("line").containsExactly(2L, 3L);
+        assertThat(summary.getRejectedRows().get(1).getReason()).startsWith("description");
+        assertThat(persistedBatches.get(0).get(0).getId()).isNull();
+        assertThat(persistedBatches.get(0).get(0).getResult()).isNull();
+    }
+
+    @Test
+    public void whenRowReferencesMissingCalculation_thenRowIsRejected() throws Exception
+    {
+        doThrow(new InvalidReferenceException(project.getId(), TEST_ID))
+                .when(dependencyService).validateReferences(project.getId(), null, "#" + TEST_ID);
+
+        ImportSummary summary = calculationImportService.importCsv(project, stream("Missing,#" + TEST_ID + "\n"), false);
+
+        assertThat(summary.getAccepted()).isEqualTo(0);
+        assertThat(summary.getRejected()).isEqualTo(1);
+        assertThat(persistedBatches).isEmpty();
+    }
+
+    @Test
+    public void whenRejectionsExceedLimit_thenCountAllButKeepOnlyFirstRows() throws Exception
+    {
+        StringBuilder csv = new StringBuilder();
+
+        for (int i = 0; i < MAX_REPORTED_REJECTIONS + 5; i++)
+        {
+            csv.append("broken\n");
+        }
+
+        ImportSummary summary = calculationImportService.importCsv(project, stream(csv.toString()), false);
+
+        assertThat(summary.getRejected()).isEqualTo(MAX_REPORTED_REJECTIONS + 5);
+        assertThat(summary.getRejectedRows()).hasSize(MAX_REPORTED_REJECTIONS);
+    }
+
+    private static InputStream stream(String content)
+    {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
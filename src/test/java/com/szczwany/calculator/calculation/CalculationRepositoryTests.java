@@ -1,17 +1,27 @@
 package com.szczwany.calculator.calculation;
 
 import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.CalculationExpression;
 import com.szczwany.calculator.calculation.repository.ICalculationRepository;
+import com.szczwany.calculator.calculator.Calculator;
 import com.szczwany.calculator.helpers.CalculationFactory;
 import com.szczwany.calculator.helpers.ProjectFactory;
 import com.szczwany.calculator.project.model.Project;
+import org.hibernate.Hibernate;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.szczwany.calculator.utils.Globals.NUM_OF_CALCULATIONS_TEST;
 import static com.szczwany.calculator.utils.Globals.TEST_ID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertNull;
@@ -52,4 +62,109 @@ public class CalculationRepositoryTests
 
         assertNull(calculationRepository.findByProjectAndId(project, TEST_ID));
     }
+
+    @Test
+    public void whenFindByProjectAndIdGreaterThan_thenReturnNextPageInIdOrder()
+    {
+        Project project = ProjectFactory.createProject();
+        entityManager.persist(project);
+
+        List<Long> ids = new ArrayList<>();
+
+        for (int i = 0; i < NUM_OF_CALCULATIONS_TEST; i++)
+        {
+            ids.add(entityManager.persist(CalculationFactory.createCalculationWithProject(project)).getId());
+        }
+
+        entityManager.flush();
+
+        List<Calculation> page = calculationRepository.findByProjectAndIdGreaterThanOrderByIdAsc(project, ids.get(2), new PageRequest(0, 3));
+
+        assertThat(page).extracting(Calculation::getId).containsExactly(ids.get(3), ids.get(4), ids.get(5));
+    }
+
+    @Test
+    public void whenFindStaleExpressionsByProjectId_thenReturnOnlyCalculationsWithOutdatedResult()
+    {
+        Project project = ProjectFactory.createProject();
+        Calculation computed = CalculationFactory.createCalculationWithProject(project);
+        Calculation notComputed = CalculationFactory.createCalculationWithProject(project);
+        computed.setResultAndUpdatedAt(BigDecimal.ONE);
+
+        entityManager.persist(project);
+        entityManager.persist(computed);
+        entityManager.persist(notComputed);
+        entityManager.flush();
+
+        assertThat(calculationRepository.findStaleExpressionsByProjectId(project.getId()))
+                .extracting(CalculationExpression::getId).containsExactly(notComputed.getId());
+
+        computed.setExpression("1+1");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(calculationRepository.findStaleExpressions())
+                .extracting(CalculationExpression::getId).contains(computed.getId(), notComputed.getId());
+    }
+
+    @Test
+    public void whenFindExpressionByProjectIdAndId_thenReturnOnlyColumnsNeededForEvaluation()
+    {
+        Project project = ProjectFactory.createProject();
+        Calculation calculation = CalculationFactory.createCalculationWithProject(project);
+        calculation.setResultAndUpdatedAt(BigDecimal.ONE);
+
+        entityManager.persist(project);
+        entityManager.persist(calculation);
+        entityManager.flush();
+
+        CalculationExpression expression = calculationRepository.findExpressionByProjectIdAndId(project.getId(), calculation.getId());
+
+        assertThat(expression.getExpression()).isEqualTo(calculation.getExpression());
+        assertThat(expression.getExpressionHash()).isEqualTo(Calculator.hash(calculation.getExpression()));
+        assertThat(expression.getResult()).isEqualByComparingTo(BigDecimal.ONE);
+        assertThat(calculationRepository.findExpressionsByProjectId(project.getId())).hasSize(1);
+        assertThat(calculationRepository.findExpressionsByIdIn(Collections.singleton(calculation.getId()))).hasSize(1);
+        assertNull(calculationRepository.findExpressionByProjectIdAndId(TEST_ID, calculation.getId()));
+    }
+
+    @Test
+    public void whenFindCalculation_thenProjectIsNotLoaded()
+    {
+        Project project = ProjectFactory.createProject();
+        Calculation calculation = CalculationFactory.createCalculationWithProject(project);
+
+        entityManager.persist(project);
+        entityManager.persist(calculation);
+        entityManager.flush();
+        entityManager.clear();
+
+        Calculation foundCalculation = calculationRepository.findOne(calculation.getId());
+
+        assertThat(Hibernate.isInitialized(foundCalculation.getProject())).isFalse();
+        assertThat(foundCalculation.getProject().getId()).isEqualTo(project.getId());
+    }
+
+    @Test
+    public void whenSaveSeveralCalculations_thenIdsAreAllocatedFromOnePooledBlock()
+    {
+        Project project = ProjectFactory.createProject();
+        entityManager.persist(project);
+
+        List<Calculation> calculations = new ArrayList<>();
+
+        for (int i = 0; i < NUM_OF_CALCULATIONS_TEST; i++)
+        {
+            calculations.add(CalculationFactory.createCalculationWithProject(project));
+        }
+
+        calculationRepository.save(calculations);
+
+        for (int i = 1; i < calculations.size(); i++)
+        {
+            assertThat(calculations.get(i).getId()).isEqualTo(calculations.get(i - 1).getId() + 1);
+        }
+
+        assertThat(calculations.get(0).getId()).isGreaterThan(10L);
+    }
 }
@@ -0,0 +1,153 @@
+package com.szczwany.calculator.calculation;
+
+import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.CalculationResult;
+import com.szczwany.calculator.calculation.repository.CalculationResultRepository;
+import com.szczwany.calculator.calculator.Calculator;
+import com.szczwany.calculator.helpers.CalculationFactory;
+import com.szczwany.calculator.helpers.ProjectFactory;
+import com.szczwany.calculator.project.model.Project;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.Cache;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static com.szczwany.calculator.utils.Globals.NUM_OF_CALCULATIONS_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+public class CalculationResultRepositoryTests
+{
+    private static final int BATCH_SIZE = 3;
+    // Committed by data-h2.sql, rows inserted in the test transaction are never cached
+    private static final Long SEED_CALCULATION_ID = 1L;
+    private static final Long OTHER_SEED_CALCULATION_ID = 2L;
+    private static final Long SEED_PROJECT_ID = 1L;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CalculationResultRepository calculationResultRepository;
+
+    @Before
+    public void setUp()
+    {
+        calculationResultRepository = new CalculationResultRepository(jdbcTemplate,
+                entityManager.getEntityManager().getEntityManagerFactory(), BATCH_SIZE);
+    }
+
+    @Test
+    public void whenUpdateResults_thenEveryCalculationHasResult()
+    {
+        Project project = ProjectFactory.createProject();
+        entityManager.persist(project);
+
+        List<CalculationResult> results = new ArrayList<>();
+
+        for (int i = 0; i < NUM_OF_CALCULATIONS_TEST; i++)
+        {
+            Calculation calculation = entityManager.persist(CalculationFactory.createCalculationWithProject(project));
+            results.add(new CalculationResult(calculation.getId(), BigDecimal.valueOf(i), new Date(), calculation.getExpressionHash()));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        calculationResultRepository.updateResults(results);
+
+        for (CalculationResult result : results)
+        {
+            Calculation calculation = entityManager.find(Calculation.class, result.getId());
+
+            assertThat(calculation.getResult()).isEqualByComparingTo(result.getResult());
+            assertThat(calculation.getUpdatedAt()).isNotNull();
+            assertThat(calculation.getResultHash()).isEqualTo(calculation.getExpressionHash());
+        }
+    }
+
+    @Test
+    public void whenUpdateResults_thenCachedCalculationsAreEvicted()
+    {
+        Cache cache = entityManager.getEntityManager().getEntityManagerFactory().getCache();
+        Calculation calculation = entityManager.find(Calculation.class, SEED_CALCULATION_ID);
+        assertThat(cache.contains(Calculation.class, SEED_CALCULATION_ID)).isTrue();
+
+        calculationResultRepository.updateResults(Collections.singletonList(new CalculationResult(SEED_CALCULATION_ID,
+                BigDecimal.ONE, new Date(), Calculator.hash(calculation.getExpression()))));
+        entityManager.clear();
+
+        assertThat(cache.contains(Calculation.class, SEED_CALCULATION_ID)).isFalse();
+        assertThat(entityManager.find(Calculation.class, SEED_CALCULATION_ID).getResult()).isEqualByComparingTo(BigDecimal.ONE);
+    }
+
+    @Test
+    public void whenUpdateCalculation_thenUpdateAndClearResult()
+    {
+        Project project = ProjectFactory.createProject();
+        Calculation calculation = CalculationFactory.createCalculationWithProject(project);
+        calculation.setResultAndUpdatedAt(BigDecimal.ONE);
+
+        entityManager.persist(project);
+        entityManager.persist(calculation);
+        entityManager.flush();
+
+        int updated = calculationResultRepository.updateCalculation(project.getId(), calculation.getId(), "updated", "1+1",
+                Calculator.hash("1+1"));
+        entityManager.clear();
+
+        Calculation updatedCalculation = entityManager.find(Calculation.class, calculation.getId());
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(updatedCalculation.getExpression()).isEqualTo("1+1");
+        assertThat(updatedCalculation.getResult()).isNull();
+        assertThat(updatedCalculation.getUpdatedAt()).isNull();
+    }
+
+    @Test
+    public void whenDeleteCalculationOfOtherProject_thenNothingIsDeleted()
+    {
+        Project project = ProjectFactory.createProject();
+        Project otherProject = ProjectFactory.createProject();
+        Calculation calculation = CalculationFactory.createCalculationWithProject(project);
+
+        entityManager.persist(project);
+        entityManager.persist(otherProject);
+        entityManager.persist(calculation);
+        entityManager.flush();
+
+        assertThat(calculationResultRepository.deleteCalculation(otherProject.getId(), calculation.getId())).isEqualTo(0);
+        assertThat(calculationResultRepository.deleteCalculation(project.getId(), calculation.getId())).isEqualTo(1);
+    }
+
+    @Test
+    public void whenUpdateOrDeleteCalculation_thenOnlyThatCalculationIsEvicted()
+    {
+        Cache cache = entityManager.getEntityManager().getEntityManagerFactory().getCache();
+        entityManager.find(Calculation.class, SEED_CALCULATION_ID);
+        entityManager.find(Calculation.class, OTHER_SEED_CALCULATION_ID);
+
+        calculationResultRepository.updateCalculation(SEED_PROJECT_ID, SEED_CALCULATION_ID, "updated", "1+1", Calculator.hash("1+1"));
+
+        assertThat(cache.contains(Calculation.class, SEED_CALCULATION_ID)).isFalse();
+        assertThat(cache.contains(Calculation.class, OTHER_SEED_CALCULATION_ID)).isTrue();
+
+        calculationResultRepository.deleteCalculation(SEED_PROJECT_ID, OTHER_SEED_CALCULATION_ID);
+
+        assertThat(cache.contains(Calculation.class, OTHER_SEED_CALCULATION_ID)).isFalse();
+    }
+}
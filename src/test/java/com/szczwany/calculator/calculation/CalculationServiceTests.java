@@ -2,18 +2,28 @@ package com.szczwany.calculator.calculation;
 
 import com.szczwany.calculator.calculation.exception.CalculationNotFoundException;
 import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.CalculationResult;
+import com.szczwany.calculator.calculation.repository.CalculationResultRepository;
 import com.szczwany.calculator.calculation.repository.ICalculationRepository;
 import com.szczwany.calculator.calculation.service.CalculationService;
 import com.szczwany.calculator.calculation.service.ICalculationService;
+import com.szczwany.calculator.calculator.Calculator;
 import com.szczwany.calculator.helpers.CalculationFactory;
 import com.szczwany.calculator.helpers.ProjectFactory;
 import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.project.repository.ProjectVersionRepository;
 import org.assertj.core.util.Lists;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.persistence.EntityManager;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import static com.szczwany.calculator.utils.Globals.*;
@@ -26,13 +36,21 @@ public class CalculationServiceTests
     private Project project;
 
     private ICalculationRepository calculationRepository;
+    private CalculationResultRepository calculationResultRepository;
+    private ProjectVersionRepository projectVersionRepository;
     private ICalculationService calculationService;
+    private EntityManager entityManager;
 
     @Before
     public void setUp()
     {
         calculationRepository = mock(ICalculationRepository.class);
-        calculationService = new CalculationService(calculationRepository);
+        calculationResultRepository = mock(CalculationResultRepository.class);
+        projectVersionRepository = mock(ProjectVersionRepository.class);
+        calculationService = new CalculationService(calculationRepository, calculationResultRepository, projectVersionRepository,
+                BATCH_SIZE_TEST, PAGE_SIZE_TEST);
+        entityManager = mock(EntityManager.class);
+        ReflectionTestUtils.setField(calculationService, "entityManager", entityManager);
 
         project = ProjectFactory.createProject();
     }
@@ -96,27 +114,72 @@ public class CalculationServiceTests
         when(calculationRepository.save(calculation)).thenReturn(calculation);
 
         calculationService.addCalculation(calculation);
+
+        verify(projectVersionRepository).touch(project.getId());
     }
 
     @Test
     public void whenValidCalculation_thenUpdateCalculation()
     {
         Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
-        when(calculationRepository.findByProjectAndId(project, calculation.getId())).thenReturn(calculation);
-        when(calculationService.getCalculation(project, calculation.getId())).thenReturn(calculation);
-        when(calculationRepository.save(calculation)).thenReturn(calculation);
+        when(calculationResultRepository.updateCalculation(project.getId(), calculation.getId(),
+                calculation.getDescription(), calculation.getExpression(), Calculator.hash(calculation.getExpression()))).thenReturn(1);
+
+        assertThat(calculationService.updateCalculation(project.getId(), calculation.getId(), calculation)).isTrue();
+        verify(projectVersionRepository).touch(project.getId());
+    }
+
+    @Test
+    public void whenCalculationNotInProject_thenUpdateReturnsFalse()
+    {
+        Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
+
+        assertThat(calculationService.updateCalculation(project.getId(), calculation.getId(), calculation)).isFalse();
+        verify(calculationRepository, never()).save(any(Calculation.class));
+        verifyZeroInteractions(projectVersionRepository);
+    }
+
+    @Test
+    public void whenResults_thenUpdateResultsInOneBatch()
+    {
+        List<CalculationResult> results = Collections.singletonList(new CalculationResult(TEST_ID, BigDecimal.ONE, new Date(), 0L));
+
+        calculationService.updateResults(results);
+
+        verify(calculationResultRepository, times(1)).updateResults(results);
+        verify(projectVersionRepository).touchByCalculationIds(Collections.singletonList(TEST_ID));
+    }
+
+    @Test
+    public void whenNoResults_thenSkipUpdate()
+    {
+        calculationService.updateResults(Collections.emptyList());
 
-        calculationService.updateCalculation(calculation);
+        verifyZeroInteractions(calculationResultRepository, projectVersionRepository);
     }
 
     @Test
     public void whenValidCalculationId_thenDeleteCalculation()
     {
         Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
-        when(calculationRepository.findByProjectAndId(project, calculation.getId())).thenReturn(calculation);
-        when(calculationService.getCalculation(project, calculation.getId())).thenReturn(calculation);
-        doNothing().when(calculationRepository).delete(calculation.getId());
+        when(calculationResultRepository.deleteCalculation(project.getId(), calculation.getId())).thenReturn(1);
+
+        assertThat(calculationService.deleteCalculation(project.getId(), calculation.getId())).isTrue();
+        verify(calculationRepository, never()).findByProjectAndId(any(Project.class), anyLong());
+        verify(projectVersionRepository).touch(project.getId());
+    }
+
+    @Test
+    public void whenAddCalculations_thenPersistInBatchesAndClearContextAfterEach()
+    {
+        List<Calculation> calculations = CalculationFactory.createCalculations(project, BATCH_SIZE_TEST * 2 + 1);
+
+        calculationService.addCalculations(calculations);
 
-        calculationService.deleteCalculation(calculation.getId());
+        verify(calculationRepository, times(3)).save(anyListOf(Calculation.class));
+        verify(calculationRepository).save(calculations.subList(BATCH_SIZE_TEST * 2, BATCH_SIZE_TEST * 2 + 1));
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        verify(projectVersionRepository).touch(Collections.singleton(project.getId()));
     }
 }
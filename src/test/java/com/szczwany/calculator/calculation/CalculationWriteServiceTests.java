@@ -0,0 +1,162 @@
+package com.szczwany.calculator.calculation;
+
+import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.service.CalculationService;
+import com.szczwany.calculator.calculation.service.CalculationWriteService;
+import com.szczwany.calculator.calculation.service.ICalculationWriteService;
+import com.szczwany.calculator.dependency.exception.InvalidReferenceException;
+import com.szczwany.calculator.dependency.service.DependencyService;
+import com.szczwany.calculator.helpers.CalculationFactory;
+import com.szczwany.calculator.helpers.ProjectFactory;
+import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.project.repository.ProjectVersionRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.szczwany.calculator.utils.Globals.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(SpringRunner.class)
+public class CalculationWriteServiceTests
+{
+    private Project project;
+
+    private CalculationService calculationService;
+    private DependencyService dependencyService;
+    private ProjectVersionRepository projectVersionRepository;
+    private ICalculationWriteService calculationWriteService;
+
+    @Before
+    public void setUp()
+    {
+        project = ProjectFactory.createProjectWithId();
+
+        calculationService = mock(CalculationService.class);
+        dependencyService = mock(DependencyService.class);
+        projectVersionRepository = mock(ProjectVersionRepository.class);
+        calculationWriteService = new CalculationWriteService(calculationService, dependencyService, projectVersionRepository);
+    }
+
+    @After
+    public void tearDown()
+    {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void whenAddCalculation_thenValidateReferencesUnderProjectLockBeforeWriting()
+    {
+        Calculation calculation = CalculationFactory.createCalculationWithProject(project);
+        calculation.setExpression("#1*2");
+
+        calculationWriteService.addCalculation(project.getId(), calculation);
+
+        InOrder inOrder = inOrder(projectVersionRepository, dependencyService, calculationService);
+        inOrder.verify(projectVersionRepository).lock(project.getId());
+        inOrder.verify(dependencyService).validateReferences(project.getId(), null, "#1*2");
+        inOrder.verify(calculationService).addCalculation(calculation);
+        inOrder.verify(dependencyService).saveDependencies(project.getId(), calculation.getId(), "#1*2");
+    }
+
+    @Test(expected = InvalidReferenceException.class)
+    public void whenAddCalculationsWithInvalidReference_thenNothingIsWritten()
+    {
+        Calculation referencing = CalculationFactory.createCalculationWithProject(project);
+        referencing.setExpression("#" + TEST_ID);
+        doThrow(new InvalidReferenceException(project.getId(), TEST_ID))
+                .when(dependencyService).validateReferences(project.getId(), null, "#" + TEST_ID);
+
+        try
+        {
+            calculationWriteService.addCalculations(project.getId(), Collections.singletonList(referencing));
+        }
+        finally
+        {
+            verify(projectVersionRepository).lock(project.getId());
+            verify(calculationService, never()).addCalculations(anyListOf(Calculation.class));
+            verify(dependencyService, never()).saveDependencies(anyLong(), anyLong(), anyString());
+        }
+    }
+
+    @Test
+    public void whenAddCalculations_thenSaveDependenciesOnlyForReferencingCalculations()
+    {
+        Calculation plain = CalculationFactory.createCalculationWithProjectAndId(project);
+        Calculation referencing = CalculationFactory.createCalculationWithProjectAndId(project);
+        referencing.setId(TEST_ID + 1);
+        referencing.setExpression("#1*2");
+        List<Calculation> calculations = Arrays.asList(plain, referencing);
+
+        calculationWriteService.addCalculations(project.getId(), calculations);
+
+        verify(calculationService).addCalculations(calculations);
+        verify(dependencyService).saveDependencies(project.getId(), TEST_ID + 1, "#1*2");
+        verify(dependencyService, times(1)).saveDependencies(anyLong(), anyLong(), anyString());
+    }
+
+    @Test
+    public void whenUpdateCalculationInTransaction_thenPropagateChangeOnlyAfterCommit()
+    {
+        Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
+
+        when(calculationService.getCalculationIds(project.getId(), Collections.singletonList(calculation.getId())))
+                .thenReturn(Collections.singletonList(calculation.getId()));
+        when(calculationService.updateCalculation(project.getId(), calculation.getId(), calculation)).thenReturn(true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(calculationWriteService.updateCalculation(project.getId(), calculation.getId(), calculation)).isTrue();
+
+        verify(projectVersionRepository).lock(project.getId());
+        verify(dependencyService).validateReferences(project.getId(), calculation.getId(), calculation.getExpression());
+        verify(dependencyService).saveDependencies(project.getId(), calculation.getId(), calculation.getExpression());
+        verify(dependencyService, never()).propagateChange(anyLong(), anyLong());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(dependencyService).propagateChange(project.getId(), calculation.getId());
+    }
+
+    @Test
+    public void whenUpdateMissingCalculation_thenReferencesAndDependenciesAreNotTouched()
+    {
+        Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
+        calculation.setExpression("#" + TEST_ID + "+1");
+
+        when(calculationService.getCalculationIds(project.getId(), Collections.singletonList(calculation.getId())))
+                .thenReturn(Collections.emptyList());
+
+        assertThat(calculationWriteService.updateCalculation(project.getId(), calculation.getId(), calculation)).isFalse();
+
+        verify(dependencyService, never()).validateReferences(anyLong(), anyLong(), anyString());
+        verify(calculationService, never()).updateCalculation(anyLong(), anyLong(), any(Calculation.class));
+        verify(dependencyService, never()).saveDependencies(anyLong(), anyLong(), anyString());
+        verify(dependencyService, never()).propagateChange(anyLong(), anyLong());
+    }
+
+    @Test
+    public void whenDeleteCalculation_thenLockProjectBeforeCheckingDependents()
+    {
+        when(calculationService.deleteCalculation(project.getId(), TEST_ID)).thenReturn(true);
+
+        assertThat(calculationWriteService.deleteCalculation(project.getId(), TEST_ID)).isTrue();
+
+        InOrder inOrder = inOrder(projectVersionRepository, calculationService, dependencyService);
+        inOrder.verify(projectVersionRepository).lock(project.getId());
+        inOrder.verify(calculationService).deleteCalculation(project.getId(), TEST_ID);
+        inOrder.verify(dependencyService).deleteDependencies(TEST_ID);
+    }
+}
@@ -2,9 +2,13 @@ package com.szczwany.calculator.calculation;
 
 import com.szczwany.calculator.calculation.controller.ResultController;
 import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.CalculationExpression;
 import com.szczwany.calculator.calculation.service.CalculationService;
+import com.szczwany.calculator.calculation.service.ResultService;
 import com.szczwany.calculator.helpers.CalculationFactory;
+import com.szczwany.calculator.helpers.JobFactory;
 import com.szczwany.calculator.helpers.ProjectFactory;
+import com.szczwany.calculator.job.model.Job;
 import com.szczwany.calculator.project.model.Project;
 import com.szczwany.calculator.project.service.ProjectService;
 import org.assertj.core.util.Lists;
@@ -12,17 +16,32 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static com.szczwany.calculator.utils.Globals.*;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -42,18 +61,25 @@ public class ResultControllerTests
     @MockBean
     private CalculationService calculationService;
 
+    @MockBean
+    private ResultService resultService;
+
+    @Value("${calculator.paging.default-size}")
+    private int defaultPageSize;
+
     @Before
     public void setUp()
     {
         project = ProjectFactory.createProjectWithId();
         given(projectService.getProject(project.getId())).willReturn(project);
+        given(resultService.evaluateCalculations(anyListOf(CalculationExpression.class), any())).willReturn(JobFactory.createCompletedJob());
     }
 
     @Test
     public void givenCalculations_whenGetCalculations_thenReturnStatusOkAndExpectSize() throws Exception
     {
         List<Calculation> calculations = CalculationFactory.createCalculations(NUM_OF_CALCULATIONS_TEST);
-        given(calculationService.getCalculations()).willReturn(calculations);
+        given(calculationService.getCalculations(0L, defaultPageSize)).willReturn(calculations);
 
         mockMvc.perform(get(ALL_CALCULATIONS_PATH)
                 .contentType(MediaType.APPLICATION_JSON))
@@ -64,13 +90,70 @@ public class ResultControllerTests
     @Test
     public void givenEmptyCalculations_whenGetCalculations_thenReturnStatusNoContent() throws Exception
     {
-        given(calculationService.getCalculations()).willReturn(Lists.emptyList());
+        given(calculationService.getCalculations(0L, defaultPageSize)).willReturn(Lists.emptyList());
 
         mockMvc.perform(get(ALL_CALCULATIONS_PATH)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    public void givenUnpagedOptIn_whenGetCalculations_thenReturnEveryCalculation() throws Exception
+    {
+        List<Calculation> calculations = CalculationFactory.createCalculations(NUM_OF_CALCULATIONS_TEST);
+        given(calculationService.getCalculations()).willReturn(calculations);
+
+        mockMvc.perform(get(ALL_CALCULATIONS_PATH)
+                .param("unpaged", "true")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(NUM_OF_CALCULATIONS_TEST)));
+
+        verify(calculationService, never()).getCalculations(anyLong(), anyInt());
+    }
+
+    @Test
+    public void givenCalculations_whenGetCalculationsPage_thenReturnStatusOkAndExpectSize() throws Exception
+    {
+        List<Calculation> calculations = CalculationFactory.createCalculations(NUM_OF_CALCULATIONS_TEST);
+        given(calculationService.getCalculations(TEST_ID, NUM_OF_CALCULATIONS_TEST)).willReturn(calculations);
+
+        mockMvc.perform(get(ALL_CALCULATIONS_PATH)
+                .param("afterId", TEST_ID.toString())
+                .param("size", String.valueOf(NUM_OF_CALCULATIONS_TEST))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(NUM_OF_CALCULATIONS_TEST)));
+    }
+
+    @Test
+    public void givenCalculations_whenStreamCalculations_thenReturnOneJsonLinePerCalculation() throws Exception
+    {
+        List<Calculation> calculations = CalculationFactory.createCalculations(NUM_OF_CALCULATIONS_TEST);
+        willAnswer(invocation ->
+        {
+            Consumer<Calculation> consumer = invocation.getArgumentAt(0, Consumer.class);
+            calculations.forEach(consumer);
+
+            return null;
+        }).given(calculationService).streamCalculations(any());
+
+        String content = mockMvc.perform(get(ALL_CALCULATIONS_PATH)
+                .accept(APPLICATION_NDJSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = content.split("\n");
+
+        assertThat(lines).hasSize(NUM_OF_CALCULATIONS_TEST);
+
+        for (String line : lines)
+        {
+            assertThat(line).startsWith("{\"description\":\"" + TEST_DESCRIPTION + "\"");
+        }
+    }
+
     @Test
     public void givenCalculations_whenSetResults_thenReturnStatusNoContent() throws Exception
     {
@@ -79,6 +162,29 @@ public class ResultControllerTests
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    public void givenCalculations_whenSetResults_thenEvaluateOnlyStaleCalculations() throws Exception
+    {
+        mockMvc.perform(get(ALL_CALCULATIONS_PATH + RESULT_PATH)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        verify(calculationService).getStaleCalculationExpressions();
+        verify(calculationService, never()).getCalculationExpressions();
+    }
+
+    @Test
+    public void givenCalculations_whenSetResultsByProjectWithForce_thenEvaluateAllCalculations() throws Exception
+    {
+        mockMvc.perform(get(PROJECTS_PATH + PROJECT_ID_PATH + RESULT_PATH, project.getId())
+                .param("force", "true")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        verify(calculationService).getCalculationExpressionsByProject(project.getId());
+        verify(calculationService, never()).getStaleCalculationExpressionsByProject(project.getId());
+    }
+
     @Test
     public void givenCalculations_whenSetResultsByProject_thenReturnStatusNoContent() throws Exception
     {
@@ -91,12 +197,86 @@ public class ResultControllerTests
     @Test
     public void givenCalculationsWithExpression_whenSetResultsByCalculation_thenReturnStatusNoContent() throws Exception
     {
-        Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
-        given(calculationService.getCalculation(project, calculation.getId())).willReturn(calculation);
+        CalculationExpression calculation = CalculationFactory.createCalculationExpression(TEST_ID, TEST_EXPRESSION);
+        given(calculationService.getCalculationExpression(project.getId(), calculation.getId())).willReturn(calculation);
 
         mockMvc.perform(get(CALCULATIONS_PATH + CALCULATION_ID_PATH +
                         RESULT_PATH, project.getId(), calculation.getId())
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    public void givenCalculations_whenSetResultsByProjectAsync_thenReturnStatusAcceptedAndJob() throws Exception
+    {
+        Job job = JobFactory.createRunningJob();
+        given(resultService.evaluateCalculations(anyListOf(CalculationExpression.class), any())).willReturn(job);
+
+        mockMvc.perform(get(PROJECTS_PATH + PROJECT_ID_PATH + RESULT_PATH, project.getId())
+                .param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost" + JOBS_PATH + "/" + job.getId()))
+                .andExpect(jsonPath("$.id", is(job.getId().intValue())))
+                .andExpect(jsonPath("$.status", is("RUNNING")));
+    }
+
+    @Test
+    public void givenUnchangedProjects_whenGetCalculationsIfNoneMatch_thenWillReturnStatusNotModified() throws Exception
+    {
+        given(projectService.getDataVersionOfAll()).willReturn("3-12-30");
+
+        mockMvc.perform(get(ALL_CALCULATIONS_PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + JSON_VARIANT + "-3-12-30\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+
+        verify(calculationService, never()).getCalculations(anyLong(), anyInt());
+    }
+
+    @Test
+    public void givenDeadline_whenSetResultsByProject_thenDeadlineIsPassedToJob() throws Exception
+    {
+        mockMvc.perform(get(PROJECTS_PATH + PROJECT_ID_PATH + RESULT_PATH, project.getId())
+                .param("deadline", "1500")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        verify(resultService).evaluateCalculations(anyListOf(CalculationExpression.class), eq(1500L));
+    }
+
+    @Test
+    public void givenDeadlineExceeded_whenSetResults_thenReturnStatusOkAndCancelledJob() throws Exception
+    {
+        given(resultService.evaluateCalculations(anyListOf(CalculationExpression.class), any())).willReturn(JobFactory.createCancelledJob());
+
+        mockMvc.perform(get(ALL_CALCULATIONS_PATH + RESULT_PATH)
+                .param("deadline", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("CANCELLED")));
+    }
+
+    @Test
+    public void givenFailedWrite_whenSetResults_thenReturnStatusInternalServerErrorAndFailedJob() throws Exception
+    {
+        given(resultService.evaluateCalculations(anyListOf(CalculationExpression.class), any())).willReturn(JobFactory.createFailedJob());
+
+        mockMvc.perform(get(ALL_CALCULATIONS_PATH + RESULT_PATH)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.status", is("FAILED")))
+                .andExpect(jsonPath("$.error", is(JOB_FAILURE_TEST)));
+    }
+
+    @Test
+    public void givenNonPositiveDeadline_whenSetResults_thenReturnStatusBadRequest() throws Exception
+    {
+        mockMvc.perform(get(ALL_CALCULATIONS_PATH + RESULT_PATH)
+                .param("deadline", "0")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(resultService, never()).evaluateCalculations(anyListOf(CalculationExpression.class), any());
+    }
 }
@@ -0,0 +1,156 @@
+package com.szczwany.calculator.calculation;
+
+import com.szczwany.calculator.cache.service.ExpressionCacheService;
+import com.szczwany.calculator.cache.service.ResultCacheService;
+import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.CalculationExpression;
+import com.szczwany.calculator.calculation.model.CalculationResult;
+import com.szczwany.calculator.calculation.service.CalculationService;
+import com.szczwany.calculator.calculation.service.ResultService;
+import com.szczwany.calculator.dependency.repository.ICalculationDependencyRepository;
+import com.szczwany.calculator.dependency.service.DependencyService;
+import com.szczwany.calculator.helpers.CalculationFactory;
+import com.szczwany.calculator.job.model.Job;
+import com.szczwany.calculator.job.model.JobStatus;
+import com.szczwany.calculator.job.service.JobService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.szczwany.calculator.utils.Globals.CANCELLED_BY_REQUEST;
+import static com.szczwany.calculator.utils.Globals.DEADLINE_EXCEEDED;
+import static com.szczwany.calculator.utils.Globals.NUM_OF_CALCULATIONS_TEST;
+import static com.szczwany.calculator.utils.Globals.TEST_EXPRESSION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.*;
+
+@RunWith(SpringRunner.class)
+public class ResultServiceTests
+{
+    private static final int CHUNK_SIZE = 3;
+
+    private CalculationService calculationService;
+    private JobService jobService;
+    private ResultService resultService;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        executor = Executors.newFixedThreadPool(2);
+
+        calculationService = mock(CalculationService.class);
+        ResultCacheService resultCacheService = new ResultCacheService(100);
+        jobService = new JobService(60);
+        DependencyService dependencyService = new DependencyService(mock(ICalculationDependencyRepository.class),
+                calculationService, resultCacheService, new ExpressionCacheService(100), jobService, executor, CHUNK_SIZE);
+
+        resultService = new ResultService(calculationService, resultCacheService, dependencyService, jobService, executor, CHUNK_SIZE);
+    }
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void whenEvaluateCalculations_thenAllChunksAreProcessedAndJobCompleted()
+    {
+        List<CalculationExpression> calculations = CalculationFactory.createCalculationExpressions(NUM_OF_CALCULATIONS_TEST);
+
+        Job job = resultService.evaluateCalculations(calculations).await();
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getProcessed()).isEqualTo(NUM_OF_CALCULATIONS_TEST);
+        assertThat(job.getFailed()).isEqualTo(0);
+        assertThat(calculations).extracting(CalculationExpression::getResult).containsOnly(BigDecimal.valueOf(4));
+        verify(calculationService, times((NUM_OF_CALCULATIONS_TEST + CHUNK_SIZE - 1) / CHUNK_SIZE)).updateResults(anyListOf(CalculationResult.class));
+    }
+
+    @Test
+    public void whenEvaluateInvalidCalculation_thenJobCountsFailure()
+    {
+        List<CalculationExpression> calculations = Collections.singletonList(CalculationFactory.createCalculationExpression(1L, "2/0"));
+
+        Job job = resultService.evaluateCalculations(calculations).await();
+
+        assertThat(job.getFailed()).isEqualTo(1);
+        verify(calculationService, never()).updateCalculation(anyLong(), anyLong(), any(Calculation.class));
+        verify(calculationService).updateResults(Collections.emptyList());
+    }
+
+    @Test
+    public void whenEvaluateNoCalculations_thenJobIsCompleted()
+    {
+        Job job = resultService.evaluateCalculations(new ArrayList<>()).await();
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+    }
+
+    @Test
+    public void whenEvaluateCalculationsWithReferences_thenReferencedResultsAreUsed()
+    {
+        List<CalculationExpression> calculations = Arrays.asList(
+                CalculationFactory.createCalculationExpression(1L, "#2*10"),
+                CalculationFactory.createCalculationExpression(2L, "#3+1"),
+                CalculationFactory.createCalculationExpression(3L, TEST_EXPRESSION));
+
+        Job job = resultService.evaluateCalculations(calculations).await();
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getFailed()).isEqualTo(0);
+        assertThat(calculations).extracting(CalculationExpression::getResult)
+                .containsExactly(BigDecimal.valueOf(50), BigDecimal.valueOf(5), BigDecimal.valueOf(4));
+    }
+
+    @Test
+    public void whenJobIsCancelled_thenJobEndsOnlyAfterEveryChunkHasWrittenItsResults()
+    {
+        List<CalculationExpression> calculations = CalculationFactory.createCalculationExpressions(NUM_OF_CALCULATIONS_TEST);
+        AtomicInteger written = new AtomicInteger();
+        doAnswer(invocation ->
+        {
+            jobService.cancelJob(1L);
+            written.addAndGet(invocation.getArgumentAt(0, List.class).size());
+
+            return null;
+        }).when(calculationService).updateResults(anyListOf(CalculationResult.class));
+
+        Job job = resultService.evaluateCalculations(calculations).await();
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.CANCELLED);
+        assertThat(job.getError()).isEqualTo(CANCELLED_BY_REQUEST);
+        assertThat(job.getProcessed()).isLessThan(NUM_OF_CALCULATIONS_TEST);
+        assertThat(job.getProcessed() - job.getFailed()).isEqualTo(written.get());
+        assertThat(calculations).filteredOn(calculation -> calculation.getResult() != null).hasSize(written.get());
+        verify(calculationService, times((NUM_OF_CALCULATIONS_TEST + CHUNK_SIZE - 1) / CHUNK_SIZE)).updateResults(anyListOf(CalculationResult.class));
+    }
+
+    @Test
+    public void whenDeadlineIsExceeded_thenJobIsCancelled()
+    {
+        List<CalculationExpression> calculations = CalculationFactory.createCalculationExpressions(NUM_OF_CALCULATIONS_TEST);
+
+        Job job = resultService.evaluateCalculations(calculations, 0L).await();
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.CANCELLED);
+        assertThat(job.getError()).isEqualTo(DEADLINE_EXCEEDED);
+        assertThat(job.getProcessed()).isEqualTo(0);
+        assertThat(calculations).extracting(CalculationExpression::getResult).containsOnly((BigDecimal) null);
+        verify(calculationService, times((NUM_OF_CALCULATIONS_TEST + CHUNK_SIZE - 1) / CHUNK_SIZE)).updateResults(Collections.emptyList());
+    }
+}
@@ -5,9 +5,15 @@ import org.junit.runner.RunWith;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 
 import static com.szczwany.calculator.calculator.Calculator.calculate;
+import static com.szczwany.calculator.calculator.Calculator.compile;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(SpringRunner.class)
 public class CalculatorTests
@@ -41,4 +47,70 @@ public class CalculatorTests
     {
         assertEquals(null, calculate("2.22/0"));
     }
+
+    @Test
+    public void whenDivisorIsZeroInsideExpression_returnNull()
+    {
+        assertNull(calculate("1+2*3/0-4"));
+        assertNull(calculate("2/-0"));
+        assertNull(calculate("2/0.00"));
+    }
+
+    @Test
+    public void whenVeryLongExpression_evaluateWithoutRecursion()
+    {
+        StringBuilder expression = new StringBuilder("99999999999999999999");
+
+        for (int i = 0; i < 100000; i++)
+        {
+            expression.append(i % 2 == 0 ? "+1.5" : "-1");
+        }
+
+        assertEquals(new BigDecimal("100000000000000024999.0"), calculate(expression.toString()));
+    }
+
+    @Test
+    public void whenInvalidExpression_compileReturnNull()
+    {
+        assertNull(compile("2.22--1*3"));
+    }
+
+    @Test
+    public void whenCompiledExpressionEvaluatedTwice_returnSameResult()
+    {
+        CompiledExpression compiledExpression = compile("12+434*21/3.3");
+
+        assertEquals(BigDecimal.valueOf(2773.82), compiledExpression.evaluate());
+        assertEquals(BigDecimal.valueOf(2773.82), compiledExpression.evaluate());
+    }
+
+    @Test
+    public void whenNormalizeExpression_dropLeadingZerosOnly()
+    {
+        assertEquals("-5+0.05*100/0", Calculator.normalize("-05+00.05*0100/000"));
+    }
+
+    @Test
+    public void whenExpressionsDifferOnlyInLeadingZeros_hashIsEqual()
+    {
+        assertEquals(Calculator.hash("2+3.50"), Calculator.hash("002+03.50"));
+        assertNotEquals(Calculator.hash("2+3.50"), Calculator.hash("2+3.5"));
+    }
+
+    @Test
+    public void whenExpressionWithReferences_resolveThemWhenCompiling()
+    {
+        CompiledExpression compiledExpression = compile("#12*1.23+#3", id -> id == 12 ? BigDecimal.valueOf(100) : BigDecimal.ONE);
+
+        assertEquals(new BigDecimal("124.00"), compiledExpression.evaluate());
+        assertTrue(compiledExpression.hasReferences());
+        assertEquals(new LinkedHashSet<>(Arrays.asList(12L, 3L)), Calculator.references("#12*1.23+#3-#12"));
+    }
+
+    @Test
+    public void whenReferenceCannotBeResolved_compileReturnNull()
+    {
+        assertNull(compile("#12*1.23"));
+        assertNull(compile("2/#1", id -> BigDecimal.ZERO));
+    }
 }
@@ -0,0 +1,77 @@
+package com.szczwany.calculator.calculator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static com.szczwany.calculator.calculator.math.ExpressionValidator.VALID;
+import static com.szczwany.calculator.calculator.math.ExpressionValidator.findError;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+public class ExpressionValidatorTests
+{
+    private static final int ADVERSARIAL_LENGTH = 1000000;
+
+    @Test
+    public void whenValidExpressions_returnValid()
+    {
+        assertEquals(VALID, findError("2+2"));
+        assertEquals(VALID, findError("-1.23*544+5+6/7.54"));
+        assertEquals(VALID, findError("38422346/312679"));
+        assertEquals(VALID, findError("0.1-0.22"));
+    }
+
+    @Test
+    public void whenNullOrEmptyExpression_returnFirstPosition()
+    {
+        assertEquals(0, findError(null));
+        assertEquals(0, findError(""));
+    }
+
+    @Test
+    public void whenInvalidCharacter_returnItsPosition()
+    {
+        assertEquals(5, findError("2.22--1*3"));
+        assertEquals(1, findError("2 +2"));
+        assertEquals(4, findError("1.23.4+1"));
+        assertEquals(4, findError("1.234+1"));
+        assertEquals(0, findError("+2"));
+        assertEquals(2, findError("2+.5"));
+    }
+
+    @Test
+    public void whenExpressionIsIncomplete_returnLength()
+    {
+        assertEquals(1, findError("2"));
+        assertEquals(2, findError("2+"));
+        assertEquals(4, findError("2+3."));
+    }
+
+    @Test
+    public void whenExpressionWithReferences_returnValidOrPositionOfError()
+    {
+        assertEquals(VALID, findError("#12*1.23"));
+        assertEquals(VALID, findError("2+#1-#3"));
+        assertEquals(1, findError("-#1+2"));
+        assertEquals(2, findError("#1.5+2"));
+        assertEquals(3, findError("1+#+2"));
+        assertEquals(19, findError("#1234567890123456789+1"));
+        assertEquals(3, findError("1+#"));
+    }
+
+    @Test
+    public void whenLongAdversarialExpression_returnLastPosition()
+    {
+        StringBuilder expression = new StringBuilder("1+");
+
+        while (expression.length() < ADVERSARIAL_LENGTH)
+        {
+            expression.append("1.1+1");
+        }
+
+        expression.append('!');
+
+        assertEquals(expression.length() - 1, findError(expression));
+    }
+}
@@ -0,0 +1,97 @@
+package com.szczwany.calculator.calculator;
+
+import com.szczwany.calculator.calculator.math.InfixToRPNConverter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+public class FixedPointProgramTests
+{
+    private static final char[] OPERATORS = { '+', '-', '*', '/' };
+
+    @Test
+    public void whenDivisionRoundsHalfUp_returnSameResultAsBigDecimal()
+    {
+        assertFixedPointEquals("1/8", "0.13");
+        assertFixedPointEquals("-1/8", "-0.13");
+        assertFixedPointEquals("1/3", "0.33");
+        assertFixedPointEquals("-2/3", "-0.67");
+        assertFixedPointEquals("5/0.01", "500.00");
+        assertFixedPointEquals("0.01*0.01", "0.0001");
+        assertFixedPointEquals("1.5+2.25-0", "3.75");
+    }
+
+    @Test
+    public void whenLongOverflows_fallBackToBigDecimal()
+    {
+        CompiledExpression compiledExpression = Calculator.compile("9999999999*9999999999*9999999999");
+
+        assertEquals(new BigDecimal("999999999700000000029999999999"), compiledExpression.evaluate());
+    }
+
+    @Test
+    public void whenNumberDoesNotFitInLong_noFixedPointProgram()
+    {
+        assertNull(FixedPointProgram.of(new InfixToRPNConverter().infixToRPN("99999999999999999999+1")));
+    }
+
+    @Test
+    public void whenRandomExpressions_returnBitIdenticalResults()
+    {
+        Random random = new Random(500);
+
+        for (int i = 0; i < 20000; i++)
+        {
+            String expression = randomExpression(random);
+            CompiledExpression compiledExpression = Calculator.compile(expression);
+
+            if (compiledExpression != null)
+            {
+                assertEquals(expression, compiledExpression.evaluateBigDecimal(), compiledExpression.evaluate());
+            }
+        }
+    }
+
+    private static void assertFixedPointEquals(String expression, String expected)
+    {
+        BigDecimal result = FixedPointProgram.of(new InfixToRPNConverter().infixToRPN(expression)).evaluate();
+
+        assertEquals(new BigDecimal(expected), result);
+        assertEquals(Calculator.compile(expression).evaluateBigDecimal(), result);
+    }
+
+    private static String randomExpression(Random random)
+    {
+        StringBuilder expression = new StringBuilder();
+        int operands = 2 + random.nextInt(12);
+
+        for (int i = 0; i < operands; i++)
+        {
+            if (i > 0)
+            {
+                expression.append(OPERATORS[random.nextInt(OPERATORS.length)]);
+            }
+            else if (random.nextBoolean())
+            {
+                expression.append('-');
+            }
+
+            expression.append(random.nextInt(10) == 0 ? 1_000_000_000L + random.nextInt(Integer.MAX_VALUE) : random.nextInt(1000));
+
+            int decimals = random.nextInt(3);
+
+            if (decimals > 0)
+            {
+                expression.append('.').append(decimals == 1 ? random.nextInt(10) : 10 + random.nextInt(90));
+            }
+        }
+
+        return expression.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.szczwany.calculator.calculator;
+
+import com.szczwany.calculator.calculator.math.InfixToRPNConverter;
+import com.szczwany.calculator.calculator.math.Token;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+public class InfixToRPNConverterTests
+{
+    private InfixToRPNConverter infixToRPNConverter = new InfixToRPNConverter();
+
+    @Test
+    public void whenValidExpression_returnTokensInRPNOrder()
+    {
+        assertEquals("3 2 2 * - 2 +", toText(infixToRPNConverter.infixToRPN("3-2*2+2")));
+    }
+
+    @Test
+    public void whenExpressionStartsWithMinus_returnNegativeFirstNumber()
+    {
+        assertEquals("-2.5 4.11 /", toText(infixToRPNConverter.infixToRPN("-2.5/4.11")));
+    }
+
+    @Test
+    public void whenValidExpression_returnTokenPositions()
+    {
+        List<Token> tokens = infixToRPNConverter.infixToRPN("12+4.5");
+
+        assertEquals(0, tokens.get(0).getPosition());
+        assertEquals(3, tokens.get(1).getPosition());
+        assertEquals(2, tokens.get(2).getPosition());
+    }
+
+    private static String toText(List<Token> tokens)
+    {
+        StringBuilder text = new StringBuilder();
+
+        for (Token token : tokens)
+        {
+            if (text.length() > 0)
+            {
+                text.append(' ');
+            }
+
+            text.append(token.isOperator() ? String.valueOf(token.getOperator()) : token.getValue().toPlainString());
+        }
+
+        return text.toString();
+    }
+}
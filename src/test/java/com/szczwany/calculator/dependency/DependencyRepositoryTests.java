@@ -0,0 +1,50 @@
+package com.szczwany.calculator.dependency;
+
+import com.szczwany.calculator.dependency.model.CalculationDependency;
+import com.szczwany.calculator.dependency.repository.ICalculationDependencyRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static com.szczwany.calculator.utils.Globals.TEST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+public class DependencyRepositoryTests
+{
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ICalculationDependencyRepository dependencyRepository;
+
+    @Test
+    public void whenDeleteByCalculationId_thenOnlyOutgoingEdgesAreDeleted()
+    {
+        entityManager.persist(new CalculationDependency(TEST_ID, 1L, 2L));
+        entityManager.persist(new CalculationDependency(TEST_ID, 2L, 3L));
+        entityManager.persist(new CalculationDependency(TEST_ID, 4L, 3L));
+        entityManager.flush();
+
+        int deleted = dependencyRepository.deleteByCalculationId(2L);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(dependencyRepository.findByProjectId(TEST_ID)).extracting(CalculationDependency::getCalculationId).containsOnly(1L, 4L);
+    }
+
+    @Test
+    public void whenFindCalculationIdsByDependsOnId_thenReturnDependentCalculations()
+    {
+        entityManager.persist(new CalculationDependency(TEST_ID, 4L, 3L));
+        entityManager.persist(new CalculationDependency(TEST_ID, 2L, 3L));
+        entityManager.persist(new CalculationDependency(TEST_ID, 1L, 2L));
+        entityManager.flush();
+
+        assertThat(dependencyRepository.findCalculationIdsByDependsOnId(3L)).containsExactly(2L, 4L);
+        assertThat(dependencyRepository.findCalculationIdsByDependsOnId(1L)).isEmpty();
+    }
+}
@@ -0,0 +1,191 @@
+package com.szczwany.calculator.dependency;
+
+import com.szczwany.calculator.cache.service.ExpressionCacheService;
+import com.szczwany.calculator.cache.service.ResultCacheService;
+import com.szczwany.calculator.calculation.model.CalculationExpression;
+import com.szczwany.calculator.calculation.model.CalculationResult;
+import com.szczwany.calculator.calculation.service.CalculationService;
+import com.szczwany.calculator.dependency.exception.CyclicDependencyException;
+import com.szczwany.calculator.dependency.exception.DependentCalculationsException;
+import com.szczwany.calculator.dependency.exception.InvalidReferenceException;
+import com.szczwany.calculator.dependency.model.CalculationDependency;
+import com.szczwany.calculator.dependency.repository.ICalculationDependencyRepository;
+import com.szczwany.calculator.dependency.service.DependencyService;
+import com.szczwany.calculator.helpers.CalculationFactory;
+import com.szczwany.calculator.job.model.Job;
+import com.szczwany.calculator.job.service.JobService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.szczwany.calculator.utils.Globals.TEST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(SpringRunner.class)
+public class DependencyServiceTests
+{
+    private static final int CHUNK_SIZE = 2;
+
+    private ICalculationDependencyRepository dependencyRepository;
+    private CalculationService calculationService;
+    private ExpressionCacheService expressionCacheService;
+    private DependencyService dependencyService;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        dependencyRepository = mock(ICalculationDependencyRepository.class);
+        calculationService = mock(CalculationService.class);
+        expressionCacheService = new ExpressionCacheService(100);
+        executor = Executors.newFixedThreadPool(2);
+        dependencyService = new DependencyService(dependencyRepository, calculationService, new ResultCacheService(100),
+                expressionCacheService, new JobService(60), executor, CHUNK_SIZE);
+    }
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test(expected = InvalidReferenceException.class)
+    public void whenReferenceNotInProject_thenThrowInvalidReference()
+    {
+        when(calculationService.getCalculationIds(eq(TEST_ID), anyCollectionOf(Long.class))).thenReturn(Collections.singletonList(1L));
+
+        dependencyService.validateReferences(TEST_ID, null, "#1+#2");
+    }
+
+    @Test(expected = CyclicDependencyException.class)
+    public void whenReferenceLeadsBackToCalculation_thenThrowCyclicDependency()
+    {
+        when(calculationService.getCalculationIds(eq(TEST_ID), anyCollectionOf(Long.class))).thenReturn(Collections.singletonList(2L));
+        when(dependencyRepository.findByProjectId(TEST_ID)).thenReturn(Arrays.asList(
+                new CalculationDependency(TEST_ID, 2L, 3L),
+                new CalculationDependency(TEST_ID, 3L, 1L)));
+
+        dependencyService.validateReferences(TEST_ID, 1L, "#2*2");
+    }
+
+    @Test
+    public void whenReferencesAreAcyclic_thenValidationPasses()
+    {
+        when(calculationService.getCalculationIds(eq(TEST_ID), anyCollectionOf(Long.class))).thenReturn(Collections.singletonList(2L));
+        when(dependencyRepository.findByProjectId(TEST_ID)).thenReturn(Arrays.asList(
+                new CalculationDependency(TEST_ID, 1L, 3L),
+                new CalculationDependency(TEST_ID, 2L, 3L)));
+
+        dependencyService.validateReferences(TEST_ID, 1L, "#2*2");
+    }
+
+    @Test
+    public void whenEvaluateInOrder_thenEveryCalculationSeesResultsOfItsReferences()
+    {
+        List<CalculationExpression> calculations = Arrays.asList(
+                createCalculation(1L, "#2+#3"),
+                createCalculation(2L, "#4*2"),
+                createCalculation(3L, "#4*3"),
+                createCalculation(4L, "2+3"),
+                createCalculation(5L, "#1/#10"));
+        Job job = new JobService(60).createJob(calculations.size());
+        when(calculationService.getCalculationExpressions(Collections.singleton(10L)))
+                .thenReturn(Collections.singletonList(CalculationFactory.createCalculationExpressionWithResult(10L, BigDecimal.valueOf(4))));
+
+        dependencyService.evaluateInOrder(calculations, Collections.emptyList(), job).join();
+
+        assertThat(calculations).extracting(CalculationExpression::getResult).containsExactly(BigDecimal.valueOf(25),
+                BigDecimal.valueOf(10), BigDecimal.valueOf(15), BigDecimal.valueOf(5), new BigDecimal("6.25"));
+        assertThat(job.getProcessed()).isEqualTo(calculations.size());
+    }
+
+    @Test
+    public void whenEvaluateInOrderAgain_thenExpressionsWithReferencesAreNotParsedAgain()
+    {
+        Job first = new JobService(60).createJob(2);
+        Job second = new JobService(60).createJob(2);
+
+        dependencyService.evaluateInOrder(Arrays.asList(createCalculation(1L, "2+3"), createCalculation(2L, "#1*2")),
+                Collections.emptyList(), first).join();
+        dependencyService.evaluateInOrder(Arrays.asList(createCalculation(1L, "4+3"), createCalculation(2L, "#1*2")),
+                Collections.emptyList(), second).join();
+
+        assertThat(expressionCacheService.getStatistics().getMissCount()).isEqualTo(1);
+        assertThat(expressionCacheService.getStatistics().getHitCount()).isEqualTo(1);
+        assertThat(second.getFailed()).isEqualTo(0);
+    }
+
+    @Test
+    public void whenCalculationsInCycle_thenTheyAreCountedAsFailed()
+    {
+        List<CalculationExpression> calculations = Arrays.asList(createCalculation(1L, "#2+1"), createCalculation(2L, "#1+1"));
+        Job job = new JobService(60).createJob(calculations.size());
+
+        dependencyService.evaluateInOrder(calculations, Collections.emptyList(), job).join();
+
+        assertThat(job.getFailed()).isEqualTo(2);
+        verify(calculationService, never()).updateResults(anyListOf(CalculationResult.class));
+    }
+
+    @Test
+    public void whenCalculationHasDependents_thenPropagateEvaluatesDownstreamOnly()
+    {
+        when(dependencyRepository.findByProjectId(TEST_ID)).thenReturn(Collections.singletonList(new CalculationDependency(TEST_ID, 2L, 1L)));
+        when(calculationService.getCalculationExpressions(anyCollectionOf(Long.class))).thenAnswer(invocation ->
+        {
+            Collection<?> ids = invocation.getArgumentAt(0, Collection.class);
+
+            return ids.contains(1L) ? Arrays.asList(createCalculation(1L, "1+1"), createCalculation(2L, "#1*2")) : Collections.emptyList();
+        });
+
+        Job job = dependencyService.propagateChange(TEST_ID, 1L);
+
+        assertThat(dependencyService.propagateChange(TEST_ID, 2L)).isNull();
+        assertThat(job.await().getProcessed()).isEqualTo(2);
+        verify(calculationService, times(2)).updateResults(anyListOf(CalculationResult.class));
+    }
+
+    @Test(expected = DependentCalculationsException.class)
+    public void whenCalculationHasDependents_thenDeleteDependenciesIsRejected()
+    {
+        when(dependencyRepository.findCalculationIdsByDependsOnId(1L)).thenReturn(Collections.singletonList(2L));
+
+        try
+        {
+            dependencyService.deleteDependencies(1L);
+        }
+        finally
+        {
+            verify(dependencyRepository, never()).deleteByCalculationId(1L);
+        }
+    }
+
+    @Test
+    public void whenCalculationHasNoDependents_thenOnlyOutgoingEdgesAreDeleted()
+    {
+        when(dependencyRepository.findCalculationIdsByDependsOnId(1L)).thenReturn(Collections.emptyList());
+
+        dependencyService.deleteDependencies(1L);
+
+        verify(dependencyRepository).deleteByCalculationId(1L);
+    }
+
+    private static CalculationExpression createCalculation(Long id, String expression)
+    {
+        return CalculationFactory.createCalculationExpression(id, expression);
+    }
+}
@@ -0,0 +1,106 @@
+package com.szczwany.calculator.evaluation;
+
+import com.szczwany.calculator.evaluation.controller.EvaluationController;
+import com.szczwany.calculator.evaluation.model.Evaluation;
+import com.szczwany.calculator.evaluation.service.EvaluationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+import static com.szczwany.calculator.utils.Globals.*;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(value = EvaluationController.class, secure = false)
+public class EvaluationControllerTests
+{
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EvaluationService evaluationService;
+
+    @Before
+    public void setUp()
+    {
+        given(evaluationService.evaluate(any(Evaluation.class))).willAnswer(invocation ->
+        {
+            Evaluation evaluation = invocation.getArgumentAt(0, Evaluation.class);
+            evaluation.setResult(BigDecimal.valueOf(evaluation.getExpression().length()));
+
+            return evaluation;
+        });
+        willAnswer(invocation ->
+        {
+            Iterator<Evaluation> evaluations = invocation.getArgumentAt(0, Iterator.class);
+            Consumer<Evaluation> consumer = invocation.getArgumentAt(1, Consumer.class);
+            evaluations.forEachRemaining(evaluation -> consumer.accept(evaluationService.evaluate(evaluation)));
+
+            return null;
+        }).given(evaluationService).evaluateInOrder(any(), any());
+    }
+
+    @Test
+    public void givenSingleExpression_whenEvaluate_thenReturnSingleResult() throws Exception
+    {
+        mockMvc.perform(post(EVALUATE_PATH)
+                .content("{\"expression\":\"" + TEST_EXPRESSION + "\"}")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expression", is(TEST_EXPRESSION)))
+                .andExpect(jsonPath("$.result", is(3)));
+
+        verify(evaluationService, never()).evaluateInOrder(any(), any());
+    }
+
+    @Test
+    public void givenArrayOfExpressions_whenEvaluate_thenReturnResultsInOrder() throws Exception
+    {
+        mockMvc.perform(post(EVALUATE_PATH)
+                .content("[\"1+1\", {\"expression\":\"10+10\"}]")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].result", is(3)))
+                .andExpect(jsonPath("$[1].expression", is("10+10")))
+                .andExpect(jsonPath("$[1].result", is(5)));
+    }
+
+    @Test
+    public void givenNdjsonExpressions_whenEvaluate_thenReturnOneJsonLinePerExpression() throws Exception
+    {
+        mockMvc.perform(post(EVALUATE_PATH)
+                .content("{\"expression\":\"1+1\"}\n{\"expression\":\"10+10\"}\n")
+                .contentType(APPLICATION_NDJSON_VALUE)
+                .accept(APPLICATION_NDJSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string("{\"expression\":\"1+1\",\"result\":3}\n{\"expression\":\"10+10\",\"result\":5}\n"));
+    }
+
+    @Test
+    public void givenNumber_whenEvaluate_thenReturnStatusBadRequest() throws Exception
+    {
+        mockMvc.perform(post(EVALUATE_PATH)
+                .content("4")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,79 @@
+package com.szczwany.calculator.evaluation;
+
+import com.szczwany.calculator.cache.service.ResultCacheService;
+import com.szczwany.calculator.evaluation.model.Evaluation;
+import com.szczwany.calculator.evaluation.service.EvaluationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.szczwany.calculator.utils.Globals.TEST_EXPRESSION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+public class EvaluationServiceTests
+{
+    private static final int CHUNK_SIZE = 3;
+    private static final int CHUNKS_IN_FLIGHT = 2;
+
+    private EvaluationService evaluationService;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        executor = Executors.newFixedThreadPool(CHUNKS_IN_FLIGHT);
+        evaluationService = new EvaluationService(new ResultCacheService(100), executor, CHUNK_SIZE, CHUNKS_IN_FLIGHT);
+    }
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void whenEvaluate_thenResultIsSet()
+    {
+        Evaluation evaluation = evaluationService.evaluate(new Evaluation(TEST_EXPRESSION));
+
+        assertThat(evaluation.getResult()).isEqualByComparingTo(BigDecimal.valueOf(4));
+    }
+
+    @Test
+    public void whenEvaluateInvalidOrReferencingExpression_thenResultIsNull()
+    {
+        assertThat(evaluationService.evaluate(new Evaluation("2/0")).getResult()).isNull();
+        assertThat(evaluationService.evaluate(new Evaluation("#1+1")).getResult()).isNull();
+        assertThat(evaluationService.evaluate(new Evaluation()).getResult()).isNull();
+    }
+
+    @Test
+    public void whenEvaluateInOrder_thenResultsKeepTheOrderOfInput()
+    {
+        List<Evaluation> evaluations = new ArrayList<>();
+
+        for (int i = 0; i < CHUNK_SIZE * CHUNKS_IN_FLIGHT * 3 + 1; i++)
+        {
+            evaluations.add(new Evaluation(i + "*2"));
+        }
+
+        List<Evaluation> results = new ArrayList<>();
+        evaluationService.evaluateInOrder(evaluations.iterator(), results::add);
+
+        assertThat(results).containsExactlyElementsOf(evaluations);
+
+        for (int i = 0; i < results.size(); i++)
+        {
+            assertThat(results.get(i).getResult()).isEqualByComparingTo(BigDecimal.valueOf(i * 2));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.szczwany.calculator.export;
+
+import com.szczwany.calculator.export.controller.ExportController;
+import com.szczwany.calculator.export.exception.ExportNotReadyException;
+import com.szczwany.calculator.export.model.Export;
+import com.szczwany.calculator.export.model.ExportFormat;
+import com.szczwany.calculator.export.service.ExportService;
+import com.szczwany.calculator.helpers.JobFactory;
+import com.szczwany.calculator.helpers.ProjectFactory;
+import com.szczwany.calculator.job.model.Job;
+import com.szczwany.calculator.job.model.JobStatus;
+import com.szczwany.calculator.project.exception.ProjectNotFoundException;
+import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.project.service.ProjectService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.szczwany.calculator.utils.Globals.*;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringEndsWith.endsWith;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(value = ExportController.class, secure = false)
+public class ExportControllerTests
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private ProjectService projectService;
+
+    @Test
+    public void givenProjectId_whenStartExport_thenWillReturnStatusAcceptedWithJob() throws Exception
+    {
+        Project project = ProjectFactory.createProjectWithId();
+        Job job = JobFactory.createRunningJob();
+        given(projectService.getProject(project.getId())).willReturn(project);
+        given(exportService.startExport(project, ExportFormat.CSV, true))
+                .willReturn(new Export(job, folder.getRoot().toPath(), ExportFormat.CSV, true));
+
+        mockMvc.perform(post(EXPORTS_PATH)
+                .param("projectId", project.getId().toString())
+                .param("format", ExportFormat.CSV.name())
+                .param("gzip", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith(JOBS_PATH + "/" + job.getId())))
+                .andExpect(jsonPath("$.status", is("RUNNING")));
+    }
+
+    @Test
+    public void givenMissingProject_whenStartExport_thenWillReturnStatusNotFound() throws Exception
+    {
+        given(projectService.getProject(TEST_ID)).willThrow(new ProjectNotFoundException(TEST_ID));
+
+        mockMvc.perform(post(EXPORTS_PATH)
+                .param("projectId", TEST_ID.toString()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void givenCompletedExport_whenDownload_thenWillReturnFileContent() throws Exception
+    {
+        Path file = folder.newFile("export.csv").toPath();
+        Files.write(file, (EXPORT_CSV_HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+        Job job = JobFactory.createCompletedJob();
+        given(exportService.getCompletedExport(job.getId())).willReturn(new Export(job, file, ExportFormat.CSV, false));
+
+        mockMvc.perform(get(EXPORTS_PATH + EXPORT_ID_PATH + EXPORT_FILE_PATH, job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", TEXT_CSV_VALUE))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"export.csv\""))
+                .andExpect(content().string(EXPORT_CSV_HEADER + "\n"));
+    }
+
+    @Test
+    public void givenRunningExport_whenDownload_thenWillReturnStatusConflict() throws Exception
+    {
+        given(exportService.getCompletedExport(TEST_ID)).willThrow(new ExportNotReadyException(TEST_ID, JobStatus.RUNNING));
+
+        mockMvc.perform(get(EXPORTS_PATH + EXPORT_ID_PATH + EXPORT_FILE_PATH, TEST_ID))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorMessage", is("export '" + TEST_ID + "' is running")));
+    }
+}
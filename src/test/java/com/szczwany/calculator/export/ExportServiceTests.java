@@ -0,0 +1,159 @@
+package com.szczwany.calculator.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.service.CalculationService;
+import com.szczwany.calculator.export.exception.ExportNotFoundException;
+import com.szczwany.calculator.export.exception.ExportNotReadyException;
+import com.szczwany.calculator.export.model.Export;
+import com.szczwany.calculator.export.model.ExportFormat;
+import com.szczwany.calculator.export.service.ExportService;
+import com.szczwany.calculator.helpers.CalculationFactory;
+import com.szczwany.calculator.helpers.ProjectFactory;
+import com.szczwany.calculator.job.model.JobStatus;
+import com.szczwany.calculator.job.service.JobService;
+import com.szczwany.calculator.project.model.Project;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static com.szczwany.calculator.utils.Globals.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(SpringRunner.class)
+public class ExportServiceTests
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Project project;
+    private List<Calculation> calculations;
+
+    private CalculationService calculationService;
+    private ExportService exportService;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp()
+    {
+        project = ProjectFactory.createProjectWithId();
+        calculations = CalculationFactory.createCalculations(project, NUM_OF_CALCULATIONS_TEST);
+
+        calculationService = mock(CalculationService.class);
+        exportService = new ExportService(calculationService, new JobService(60), new ObjectMapper(), Runnable::run,
+                folder.getRoot().getAbsolutePath());
+
+        when(calculationService.countCalculations()).thenReturn((long) calculations.size());
+        when(calculationService.countCalculationsByProject(project)).thenReturn((long) calculations.size());
+        doAnswer(invocation ->
+        {
+            calculations.forEach(invocation.getArgumentAt(0, Consumer.class));
+
+            return null;
+        }).when(calculationService).streamCalculations(any());
+        doAnswer(invocation ->
+        {
+            calculations.forEach(invocation.getArgumentAt(1, Consumer.class));
+
+            return null;
+        }).when(calculationService).streamCalculationsByProject(eq(project), any());
+    }
+
+    @Test
+    public void whenExportCsv_thenWriteHeaderAndQuotedRows() throws Exception
+    {
+        Calculation calculation = CalculationFactory.createCalculationWithProjectAndId(project);
+        calculation.setDescription("With, comma and \"quote\"");
+        calculation.setResult(BigDecimal.valueOf(4));
+        calculations = Collections.singletonList(calculation);
+
+        Export export = exportService.startExport(project, ExportFormat.CSV, false);
+        List<String> lines = Files.readAllLines(exportService.getCompletedExport(export.getJob().getId()).getFile());
+
+        assertThat(lines).containsExactly(EXPORT_CSV_HEADER, TEST_ID + ",\"With, comma and \"\"quote\"\"\"," + TEST_EXPRESSION + ",4");
+        verify(calculationService).streamCalculationsByProject(eq(project), any());
+    }
+
+    @Test
+    public void whenExportGzippedNdjson_thenFileDecompressesToOneLinePerCalculation() throws Exception
+    {
+        Export export = exportService.startExport(null, ExportFormat.NDJSON, true);
+
+        List<String> lines;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(export.getFile())), StandardCharsets.UTF_8)))
+        {
+            lines = reader.lines().collect(Collectors.toList());
+        }
+
+        assertThat(export.getFile().getFileName().toString()).endsWith(ExportFormat.NDJSON.getExtension() + GZIP_EXTENSION);
+        assertThat(export.getContentType()).isEqualTo(APPLICATION_GZIP_VALUE);
+        assertThat(lines).hasSize(NUM_OF_CALCULATIONS_TEST);
+        assertThat(lines.get(0)).contains("\"expression\":\"" + TEST_EXPRESSION + "\"");
+        assertThat(export.getJob().getProcessed()).isEqualTo(NUM_OF_CALCULATIONS_TEST);
+        verify(calculationService).streamCalculations(any());
+    }
+
+    @Test
+    public void whenExportFails_thenJobFailsAndFileIsRemoved() throws Exception
+    {
+        doThrow(new IllegalStateException("cursor closed")).when(calculationService).streamCalculations(any());
+
+        Export export = exportService.startExport(null, ExportFormat.CSV, false);
+
+        assertThat(export.getJob().getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(export.getJob().getError()).isEqualTo("cursor closed");
+        assertThat(Files.exists(export.getFile())).isFalse();
+    }
+
+    @Test(expected = ExportNotReadyException.class)
+    public void whenExportStillRunning_thenGetCompletedExportThrowsExportNotReadyException()
+    {
+        exportService = new ExportService(calculationService, new JobService(60), new ObjectMapper(), task -> {},
+                folder.getRoot().getAbsolutePath());
+
+        Export export = exportService.startExport(null, ExportFormat.CSV, false);
+
+        exportService.getCompletedExport(export.getJob().getId());
+    }
+
+    @Test(expected = ExportNotFoundException.class)
+    public void whenJobOfExportExpires_thenExportAndItsFileAreRemoved()
+    {
+        JobService jobService = new JobService(0);
+        exportService = new ExportService(calculationService, jobService, new ObjectMapper(), Runnable::run,
+                folder.getRoot().getAbsolutePath());
+
+        Export export = exportService.startExport(project, ExportFormat.CSV, false);
+
+        assertThat(Files.exists(export.getFile())).isTrue();
+
+        jobService.removeExpiredJobs();
+
+        assertThat(Files.exists(export.getFile())).isFalse();
+
+        exportService.getCompletedExport(export.getJob().getId());
+    }
+
+    @Test(expected = ExportNotFoundException.class)
+    public void whenExportDoesNotExist_thenGetCompletedExportThrowsExportNotFoundException()
+    {
+        exportService.getCompletedExport(TEST_ID);
+    }
+}
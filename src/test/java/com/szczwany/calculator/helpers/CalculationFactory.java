@@ -1,9 +1,11 @@
 package com.szczwany.calculator.helpers;
 
 import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.model.CalculationExpression;
 import com.szczwany.calculator.project.model.Project;
 import org.assertj.core.util.Lists;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -96,4 +98,26 @@ public final class CalculationFactory
 
         return calculation;
     }
+
+    public static List<CalculationExpression> createCalculationExpressions(int elements)
+    {
+        List<CalculationExpression> calculations = new ArrayList<>();
+
+        for (int i = 0; i < elements; i++)
+        {
+            calculations.add(createCalculationExpression((long) i + 1, TEST_EXPRESSION));
+        }
+
+        return calculations;
+    }
+
+    public static CalculationExpression createCalculationExpression(Long id, String expression)
+    {
+        return new CalculationExpression(id, expression, null, null);
+    }
+
+    public static CalculationExpression createCalculationExpressionWithResult(Long id, BigDecimal result)
+    {
+        return new CalculationExpression(id, TEST_EXPRESSION, null, result);
+    }
 }
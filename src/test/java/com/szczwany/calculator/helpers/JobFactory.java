@@ -0,0 +1,46 @@
+package com.szczwany.calculator.helpers;
+
+import com.szczwany.calculator.job.model.Job;
+
+import static com.szczwany.calculator.utils.Globals.*;
+
+public final class JobFactory
+{
+    private JobFactory()
+    {
+
+    }
+
+    public static Job createRunningJob()
+    {
+        return new Job(TEST_ID, NUM_OF_CALCULATIONS_TEST);
+    }
+
+    public static Job createCompletedJob()
+    {
+        Job job = createRunningJob();
+        job.addProgress(NUM_OF_CALCULATIONS_TEST, 0);
+        job.complete();
+
+        return job;
+    }
+
+    public static Job createCancelledJob()
+    {
+        Job job = createRunningJob();
+        job.addProgress(NUM_OF_CALCULATIONS_TEST / 2, 0);
+        job.cancel();
+        job.complete();
+
+        return job;
+    }
+
+    public static Job createFailedJob()
+    {
+        Job job = createRunningJob();
+        job.addProgress(NUM_OF_CALCULATIONS_TEST / 2, 0);
+        job.fail(new IllegalStateException(JOB_FAILURE_TEST));
+
+        return job;
+    }
+}
@@ -1,10 +1,12 @@
 package com.szczwany.calculator.helpers;
 
 import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.project.model.ProjectSummary;
 import org.assertj.core.util.Lists;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import static com.szczwany.calculator.utils.Globals.*;
@@ -59,4 +61,14 @@ public final class ProjectFactory
 
         return project;
     }
+
+    public static ProjectSummary createProjectSummary()
+    {
+        return new ProjectSummary(TEST_ID, TEST_NAME, (long) NUM_OF_CALCULATIONS_TEST, new Date());
+    }
+
+    public static List<ProjectSummary> createProjectSummaries(int elements)
+    {
+        return Collections.nCopies(elements, createProjectSummary());
+    }
 }
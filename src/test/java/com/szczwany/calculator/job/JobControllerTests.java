@@ -0,0 +1,104 @@
+package com.szczwany.calculator.job;
+
+import com.szczwany.calculator.helpers.JobFactory;
+import com.szczwany.calculator.job.controller.JobController;
+import com.szczwany.calculator.job.exception.JobNotFoundException;
+import com.szczwany.calculator.job.model.Job;
+import com.szczwany.calculator.job.service.JobEventService;
+import com.szczwany.calculator.job.service.JobService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static com.szczwany.calculator.utils.Globals.*;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(value = JobController.class, secure = false)
+public class JobControllerTests
+{
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JobService jobService;
+
+    @MockBean
+    private JobEventService jobEventService;
+
+    @Test
+    public void givenJobId_whenGetJob_thenWillReturnJobProgress() throws Exception
+    {
+        Job job = JobFactory.createCompletedJob();
+        given(jobService.getJob(job.getId())).willReturn(job);
+
+        mockMvc.perform(get(JOBS_PATH + JOB_ID_PATH, job.getId())
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.total", is(NUM_OF_CALCULATIONS_TEST)))
+                .andExpect(jsonPath("$.processed", is(NUM_OF_CALCULATIONS_TEST)));
+    }
+
+    @Test
+    public void givenJobId_whenGetJob_thenWillReturnStatusNotFoundAndErrorMessage() throws Exception
+    {
+        given(jobService.getJob(TEST_ID)).willThrow(new JobNotFoundException(TEST_ID));
+
+        mockMvc.perform(get(JOBS_PATH + JOB_ID_PATH, TEST_ID)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage", is("job '" + TEST_ID + "' does not exist")));
+    }
+
+    @Test
+    public void givenJobId_whenGetJobEvents_thenStartEventStream() throws Exception
+    {
+        given(jobEventService.subscribe(TEST_ID)).willReturn(new SseEmitter());
+
+        mockMvc.perform(get(JOBS_PATH + JOB_ID_PATH + JOB_EVENTS_PATH, TEST_ID)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    public void givenJobId_whenGetJobEvents_thenWillReturnStatusNotFound() throws Exception
+    {
+        given(jobEventService.subscribe(TEST_ID)).willThrow(new JobNotFoundException(TEST_ID));
+
+        mockMvc.perform(get(JOBS_PATH + JOB_ID_PATH + JOB_EVENTS_PATH, TEST_ID)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void givenJobId_whenCancelJob_thenReturnStatusNoContent() throws Exception
+    {
+        given(jobService.cancelJob(TEST_ID)).willReturn(JobFactory.createCancelledJob());
+
+        mockMvc.perform(delete(JOBS_PATH + JOB_ID_PATH, TEST_ID))
+                .andExpect(status().isNoContent());
+
+        verify(jobService).cancelJob(TEST_ID);
+    }
+
+    @Test
+    public void givenJobId_whenCancelJob_thenWillReturnStatusNotFound() throws Exception
+    {
+        given(jobService.cancelJob(TEST_ID)).willThrow(new JobNotFoundException(TEST_ID));
+
+        mockMvc.perform(delete(JOBS_PATH + JOB_ID_PATH, TEST_ID))
+                .andExpect(status().isNotFound());
+    }
+}
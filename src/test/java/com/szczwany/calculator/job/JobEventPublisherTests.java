@@ -0,0 +1,69 @@
+package com.szczwany.calculator.job;
+
+import com.szczwany.calculator.helpers.JobFactory;
+import com.szczwany.calculator.job.model.Job;
+import com.szczwany.calculator.job.model.JobEventPublisher;
+import com.szczwany.calculator.job.model.JobProgress;
+import com.szczwany.calculator.job.model.JobStatus;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ScheduledFuture;
+
+import static com.szczwany.calculator.utils.Globals.NUM_OF_CALCULATIONS_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(SpringRunner.class)
+public class JobEventPublisherTests
+{
+    @Test
+    public void givenRunningJob_whenCountersDoNotMove_thenProgressIsSentOnce() throws Exception
+    {
+        Job job = JobFactory.createRunningJob();
+        SseEmitter emitter = mock(SseEmitter.class);
+        JobEventPublisher publisher = new JobEventPublisher(job, emitter);
+
+        publisher.run();
+        publisher.run();
+        job.addProgress(1, 0);
+        publisher.run();
+
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter, never()).complete();
+    }
+
+    @Test
+    public void givenFinishedJob_whenRun_thenFinalEventIsSentAndTaskCancelled() throws Exception
+    {
+        SseEmitter emitter = mock(SseEmitter.class);
+        ScheduledFuture<?> task = mock(ScheduledFuture.class);
+        JobEventPublisher publisher = new JobEventPublisher(JobFactory.createCompletedJob(), emitter);
+        publisher.setTask(task);
+
+        publisher.run();
+        publisher.run();
+
+        verify(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter).complete();
+        verify(task, atLeastOnce()).cancel(false);
+    }
+
+    @Test
+    public void givenRunningJob_whenProgress_thenEtaIsEstimatedFromThroughput()
+    {
+        Job job = JobFactory.createRunningJob();
+        job.addProgress(NUM_OF_CALCULATIONS_TEST / 2, 1);
+
+        JobProgress progress = JobProgress.of(job);
+
+        assertThat(progress.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(progress.getFailed()).isEqualTo(1);
+        assertThat(progress.getThroughput()).isPositive();
+        assertThat(progress.getEtaSeconds()).isNotNull();
+        assertThat(JobProgress.of(JobFactory.createCompletedJob()).getEtaSeconds()).isNull();
+    }
+}
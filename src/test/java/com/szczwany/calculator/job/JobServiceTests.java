@@ -0,0 +1,63 @@
+package com.szczwany.calculator.job;
+
+import com.szczwany.calculator.job.exception.JobNotFoundException;
+import com.szczwany.calculator.job.model.Job;
+import com.szczwany.calculator.job.model.JobStatus;
+import com.szczwany.calculator.job.service.JobService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static com.szczwany.calculator.utils.Globals.NUM_OF_CALCULATIONS_TEST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+public class JobServiceTests
+{
+    @Test(expected = JobNotFoundException.class)
+    public void givenZeroRetention_whenJobFinishes_thenNextSweepRemovesIt()
+    {
+        JobService jobService = new JobService(0);
+        Job job = jobService.createJob(NUM_OF_CALCULATIONS_TEST);
+        job.complete();
+
+        jobService.removeExpiredJobs();
+
+        jobService.getJob(job.getId());
+    }
+
+    @Test
+    public void givenRetention_whenJobFinishedRecently_thenSweepKeepsIt()
+    {
+        JobService jobService = new JobService(60);
+        Job job = jobService.createJob(NUM_OF_CALCULATIONS_TEST);
+        job.complete();
+
+        jobService.removeExpiredJobs();
+
+        assertThat(jobService.getJob(job.getId())).isSameAs(job);
+    }
+
+    @Test
+    public void givenDeadlinePassed_whenEveryWorkerFinished_thenJobIsCompleted()
+    {
+        Job job = new JobService(60).createJob(NUM_OF_CALCULATIONS_TEST, 0L);
+        job.addProgress(NUM_OF_CALCULATIONS_TEST, 0);
+
+        job.complete();
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getError()).isNull();
+    }
+
+    @Test
+    public void givenZeroRetention_whenJobStillRunning_thenSweepKeepsIt()
+    {
+        JobService jobService = new JobService(0);
+        Job job = jobService.createJob(NUM_OF_CALCULATIONS_TEST);
+
+        jobService.removeExpiredJobs();
+
+        assertThat(jobService.getJob(job.getId())).isSameAs(job);
+    }
+}
@@ -4,13 +4,16 @@ import com.szczwany.calculator.helpers.ProjectFactory;
 import com.szczwany.calculator.project.controller.ProjectController;
 import com.szczwany.calculator.project.exception.ProjectNotFoundException;
 import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.project.model.ProjectSummary;
 import com.szczwany.calculator.project.service.ProjectService;
 import org.assertj.core.util.Lists;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
@@ -25,6 +28,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -38,48 +42,54 @@ public class ProjectControllerTests
     @MockBean
     private ProjectService projectService;
 
+    @Value("${calculator.paging.default-size}")
+    private int defaultPageSize;
+
     @Test
     public void givenProject_whenGetProjects_thenWillReturnStatusOkAndProjectName() throws Exception
     {
-        List<Project> projects = ProjectFactory.createProjects(NUM_OF_PROJECTS_TEST);
+        List<ProjectSummary> projects = ProjectFactory.createProjectSummaries(NUM_OF_PROJECTS_TEST);
 
-        given(projectService.getProjects()).willReturn(projects);
+        given(projectService.getProjectSummaries(0L, defaultPageSize)).willReturn(projects);
 
         mockMvc.perform(get(PROJECTS_PATH)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name", is(projects.get(0).getName())));
 
-        verify(projectService, times(1)).getProjects();
+        verify(projectService, times(1)).getProjectSummaries();
+        verify(projectService).getDataVersionOfAll();
         verifyNoMoreInteractions(projectService);
     }
 
     @Test
     public void givenProjects_whenGetProjects_thenWillReturnStatusOkAndProjectsSize() throws Exception
     {
-        List<Project> projects = ProjectFactory.createProjects(NUM_OF_PROJECTS_TEST);
+        List<ProjectSummary> projects = ProjectFactory.createProjectSummaries(NUM_OF_PROJECTS_TEST);
 
-        given(projectService.getProjects()).willReturn(projects);
+        given(projectService.getProjectSummaries(0L, defaultPageSize)).willReturn(projects);
 
         mockMvc.perform(get(PROJECTS_PATH)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(projects.size())));
 
-        verify(projectService, times(1)).getProjects();
+        verify(projectService, times(1)).getProjectSummaries();
+        verify(projectService).getDataVersionOfAll();
         verifyNoMoreInteractions(projectService);
     }
 
     @Test
     public void givenEmptyProjects_whenGetProjects_thenWillReturnStatusNoContent() throws Exception
     {
-        given(projectService.getProjects()).willReturn(Lists.emptyList());
+        given(projectService.getProjectSummaries(0L, defaultPageSize)).willReturn(Lists.emptyList());
 
         mockMvc.perform(get(PROJECTS_PATH)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
 
-        verify(projectService, times(1)).getProjects();
+        verify(projectService, times(1)).getProjectSummaries();
+        verify(projectService).getDataVersionOfAll();
         verifyNoMoreInteractions(projectService);
     }
 
@@ -110,13 +120,49 @@ public class ProjectControllerTests
     }
 
     @Test
-    public void givenProjectId_whenGetProject_thenWillReturnProject() throws Exception
+    public void givenProjects_whenGetUnpagedProjectsWithExpand_thenWillReturnAllProjectsWithCalculations() throws Exception
+    {
+        List<Project> projects = ProjectFactory.createProjects(NUM_OF_PROJECTS_TEST);
+
+        given(projectService.getProjectsWithCalculations()).willReturn(projects);
+
+        mockMvc.perform(get(PROJECTS_PATH)
+                .param("expand", EXPAND_CALCULATIONS)
+                .param("unpaged", "true")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(projects.size())));
+
+        verify(projectService, times(1)).getProjectsWithCalculations();
+        verify(projectService).getDataVersionOfAll();
+        verifyNoMoreInteractions(projectService);
+    }
+
+    @Test
+    public void givenProjectId_whenGetProject_thenWillReturnProjectSummary() throws Exception
+    {
+        ProjectSummary project = ProjectFactory.createProjectSummary();
+
+        given(projectService.getProjectSummary(project.getId())).willReturn(project);
+
+        mockMvc.perform(get(PROJECTS_PATH + PROJECT_ID_PATH, project.getId())
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(project.getId().intValue())))
+                .andExpect(jsonPath("$.name", is(project.getName())))
+                .andExpect(jsonPath("$.calculationCount", is(NUM_OF_CALCULATIONS_TEST)))
+                .andExpect(jsonPath("$.calculations").doesNotExist());
+    }
+
+    @Test
+    public void givenProjectId_whenGetProjectWithExpand_thenWillReturnProject() throws Exception
     {
         Project project = ProjectFactory.createProjectWithId();
 
-        given(projectService.getProject(project.getId())).willReturn(project);
+        given(projectService.getProjectWithCalculations(project.getId())).willReturn(project);
 
         mockMvc.perform(get(PROJECTS_PATH + PROJECT_ID_PATH, project.getId())
+                .param("expand", EXPAND_CALCULATIONS)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(project.getId().intValue())))
@@ -129,7 +175,7 @@ public class ProjectControllerTests
     {
         Project project = ProjectFactory.createProjectWithId();
 
-        when(projectService.getProject(project.getId())).thenThrow(new ProjectNotFoundException(project.getId()));
+        when(projectService.getProjectSummary(project.getId())).thenThrow(new ProjectNotFoundException(project.getId()));
 
         mockMvc.perform(get(PROJECTS_PATH + PROJECT_ID_PATH, project.getId())
                 .contentType(MediaType.APPLICATION_JSON))
@@ -183,7 +229,6 @@ public class ProjectControllerTests
     {
         Project project = ProjectFactory.createProjectWithId();
 
-        when(projectService.getProject(project.getId())).thenReturn(project);
         doNothing().when(projectService).deleteProject(project.getId());
 
         mockMvc.perform(delete(PROJECTS_PATH + PROJECT_ID_PATH, project.getId()))
@@ -195,10 +240,51 @@ public class ProjectControllerTests
     {
         Project project = ProjectFactory.createProjectWithId();
 
-        when(projectService.getProject(project.getId())).thenThrow(new ProjectNotFoundException(project.getId()));
+        doThrow(new ProjectNotFoundException(project.getId())).when(projectService).deleteProject(project.getId());
 
         mockMvc.perform(delete(PROJECTS_PATH + PROJECT_ID_PATH, project.getId()))
                 .andExpect(status().isNotFound());
     }
-}
 
+    @Test
+    public void givenProjectId_whenGetProject_thenWillReturnETag() throws Exception
+    {
+        ProjectSummary project = ProjectFactory.createProjectSummary();
+
+        given(projectService.getDataVersion(project.getId())).willReturn(7L);
+        given(projectService.getProjectSummary(project.getId())).willReturn(project);
+
+        mockMvc.perform(get(PROJECTS_PATH + PROJECT_ID_PATH, project.getId())
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + JSON_VARIANT + "-7\""));
+    }
+
+    @Test
+    public void givenUnchangedProject_whenGetProjectIfNoneMatch_thenWillReturnStatusNotModified() throws Exception
+    {
+        given(projectService.getDataVersion(TEST_ID)).willReturn(7L);
+
+        mockMvc.perform(get(PROJECTS_PATH + PROJECT_ID_PATH, TEST_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + JSON_VARIANT + "-7\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+
+        verify(projectService, never()).getProjectSummary(TEST_ID);
+    }
+
+    @Test
+    public void givenChangedProject_whenGetProjectIfNoneMatch_thenWillReturnStatusOk() throws Exception
+    {
+        ProjectSummary project = ProjectFactory.createProjectSummary();
+
+        given(projectService.getDataVersion(project.getId())).willReturn(8L);
+        given(projectService.getProjectSummary(project.getId())).willReturn(project);
+
+        mockMvc.perform(get(PROJECTS_PATH + PROJECT_ID_PATH, project.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + JSON_VARIANT + "-7\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is(project.getName())));
+    }
+}
@@ -1,7 +1,11 @@
 package com.szczwany.calculator.project;
 
+import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.calculation.repository.ICalculationRepository;
+import com.szczwany.calculator.helpers.CalculationFactory;
 import com.szczwany.calculator.helpers.ProjectFactory;
 import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.project.model.ProjectSummary;
 import com.szczwany.calculator.project.repository.IProjectRepository;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -10,6 +14,12 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import javax.persistence.Cache;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import static com.szczwany.calculator.utils.Globals.NUM_OF_CALCULATIONS_TEST;
 import static com.szczwany.calculator.utils.Globals.TEST_ID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertNull;
@@ -18,12 +28,18 @@ import static org.junit.Assert.assertNull;
 @DataJpaTest
 public class ProjectRepositoryTests
 {
+    // Committed by data-h2.sql, rows inserted in the test transaction are never cached
+    private static final Long SEED_PROJECT_ID = 1L;
+
     @Autowired
     private TestEntityManager entityManager;
 
     @Autowired
     private IProjectRepository projectRepository;
 
+    @Autowired
+    private ICalculationRepository calculationRepository;
+
     // Test
     @Test
     public void whenFindOne_thenReturnProject()
@@ -37,9 +53,104 @@ public class ProjectRepositoryTests
         assertThat(foundProject.getName().equals(project.getName()));
     }
 
+    @Test
+    public void whenFindOneCommittedProject_thenProjectIsCached()
+    {
+        projectRepository.findOne(SEED_PROJECT_ID);
+
+        assertThat(secondLevelCache().contains(Project.class, SEED_PROJECT_ID)).isTrue();
+    }
+
     @Test
     public void whenFindOneNotExist_thenReturnNull()
     {
         assertNull(projectRepository.findOne(TEST_ID));
     }
+
+    @Test
+    public void whenFindSummaries_thenReturnCalculationCountAndLastUpdate()
+    {
+        Project project = ProjectFactory.createProject();
+        Project emptyProject = ProjectFactory.createProject();
+        entityManager.persist(project);
+        entityManager.persist(emptyProject);
+
+        for (int i = 0; i < NUM_OF_CALCULATIONS_TEST; i++)
+        {
+            Calculation calculation = CalculationFactory.createCalculationWithProject(project);
+            calculation.setResultAndUpdatedAt(BigDecimal.ONE);
+            entityManager.persist(calculation);
+        }
+
+        entityManager.flush();
+
+        ProjectSummary summary = projectRepository.findSummary(project.getId());
+        ProjectSummary emptySummary = projectRepository.findSummary(emptyProject.getId());
+
+        assertThat(projectRepository.findSummaries()).extracting(ProjectSummary::getId).contains(project.getId(), emptyProject.getId());
+        assertThat(summary.getCalculationCount()).isEqualTo(NUM_OF_CALCULATIONS_TEST);
+        assertThat(summary.getLastUpdatedAt()).isNotNull();
+        assertThat(emptySummary.getCalculationCount()).isEqualTo(0);
+        assertThat(emptySummary.getLastUpdatedAt()).isNull();
+    }
+
+    @Test
+    public void whenFindWithCalculations_thenCalculationsAreFetchedWithProject()
+    {
+        Project project = ProjectFactory.createProject();
+        entityManager.persist(project);
+        entityManager.persist(CalculationFactory.createCalculationWithProject(project));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Project> projects = projectRepository.findWithCalculationsByIdIn(Collections.singleton(project.getId()));
+        entityManager.clear();
+
+        assertThat(projects).hasSize(1);
+        assertThat(projects.get(0).getCalculations()).hasSize(1);
+    }
+
+    @Test
+    public void whenBulkDeleteCalculationsAndProject_thenBothAreRemoved()
+    {
+        Project project = ProjectFactory.createProject();
+        entityManager.persist(project);
+
+        for (int i = 0; i < NUM_OF_CALCULATIONS_TEST; i++)
+        {
+            entityManager.persist(CalculationFactory.createCalculationWithProject(project));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        int deletedCalculations = calculationRepository.deleteByProjectId(project.getId());
+        int deletedProjects = projectRepository.deleteByProjectId(project.getId());
+
+        assertThat(deletedCalculations).isEqualTo(NUM_OF_CALCULATIONS_TEST);
+        assertThat(deletedProjects).isEqualTo(1);
+        assertNull(projectRepository.findOne(project.getId()));
+        assertThat(calculationRepository.findByProject(project)).isEmpty();
+    }
+
+    @Test
+    public void whenBulkDeleteNotExistingProject_thenNothingIsRemoved()
+    {
+        assertThat(projectRepository.deleteByProjectId(TEST_ID)).isEqualTo(0);
+    }
+
+    @Test
+    public void whenBulkDeleteProject_thenProjectIsEvictedFromCache()
+    {
+        projectRepository.findOne(SEED_PROJECT_ID);
+        calculationRepository.deleteByProjectId(SEED_PROJECT_ID);
+        projectRepository.deleteByProjectId(SEED_PROJECT_ID);
+
+        assertThat(secondLevelCache().contains(Project.class, SEED_PROJECT_ID)).isFalse();
+    }
+
+    private Cache secondLevelCache()
+    {
+        return entityManager.getEntityManager().getEntityManagerFactory().getCache();
+    }
 }
@@ -1,15 +1,19 @@
 package com.szczwany.calculator.project;
 
+import com.szczwany.calculator.calculation.service.CalculationService;
+import com.szczwany.calculator.dependency.service.DependencyService;
 import com.szczwany.calculator.helpers.ProjectFactory;
 import com.szczwany.calculator.project.exception.ProjectNotFoundException;
 import com.szczwany.calculator.project.model.Project;
 import com.szczwany.calculator.project.repository.IProjectRepository;
+import com.szczwany.calculator.project.repository.ProjectVersionRepository;
 import com.szczwany.calculator.project.service.IProjectService;
 import com.szczwany.calculator.project.service.ProjectService;
 import org.assertj.core.util.Lists;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.util.List;
@@ -22,13 +26,20 @@ import static org.mockito.Mockito.*;
 public class ProjectServiceTests
 {
     private IProjectRepository projectRepository;
+    private ProjectVersionRepository projectVersionRepository;
+    private CalculationService calculationService;
+    private DependencyService dependencyService;
     private IProjectService projectService;
 
     @Before
     public void setUp()
     {
         projectRepository = mock(IProjectRepository.class);
-        projectService = new ProjectService(projectRepository);
+        calculationService = mock(CalculationService.class);
+        dependencyService = mock(DependencyService.class);
+        projectVersionRepository = mock(ProjectVersionRepository.class);
+        projectService = new ProjectService(projectRepository, projectVersionRepository, calculationService, dependencyService,
+                PAGE_SIZE_TEST);
     }
 
     @Test
@@ -48,6 +59,15 @@ public class ProjectServiceTests
         assertThat(projectService.getProjects()).hasSize(0);
     }
 
+    @Test
+    public void whenProjectsPageRequested_thenPageSizeIsLimited()
+    {
+        List<Project> projects = ProjectFactory.createProjects(NUM_OF_PROJECTS_TEST);
+        when(projectRepository.findByIdGreaterThanOrderByIdAsc(TEST_ID, new PageRequest(0, PAGE_SIZE_TEST))).thenReturn(projects);
+
+        assertThat(projectService.getProjects(TEST_ID, Integer.MAX_VALUE)).hasSize(NUM_OF_PROJECTS_TEST);
+    }
+
     @Test
     public void whenValidProjectId_thenProjectIsFoundWithName()
     {
@@ -81,12 +101,42 @@ public class ProjectServiceTests
         when(projectRepository.save(project)).thenReturn(project);
 
         projectService.updateProject(project);
+
+        verify(projectVersionRepository).touch(project.getId());
+    }
+
+    @Test
+    public void whenValidProjectId_thenReturnDataVersion()
+    {
+        when(projectVersionRepository.findVersion(TEST_ID)).thenReturn(5L);
+
+        assertThat(projectService.getDataVersion(TEST_ID)).isEqualTo(5L);
+    }
+
+    @Test(expected = ProjectNotFoundException.class)
+    public void whenInvalidProjectId_thenDataVersionThrowsProjectNotFoundException()
+    {
+        when(projectVersionRepository.findVersion(TEST_ID)).thenReturn(null);
+
+        projectService.getDataVersion(TEST_ID);
     }
 
     @Test
-    public void whenValidProjectId_thenDeleteProject()
+    public void whenValidProjectId_thenDeleteProjectWithBulkStatements()
+    {
+        when(projectRepository.deleteByProjectId(TEST_ID)).thenReturn(1);
+
+        projectService.deleteProject(TEST_ID);
+
+        verify(dependencyService).deleteProjectDependencies(TEST_ID);
+        verify(calculationService).deleteCalculationsByProject(TEST_ID);
+        verify(projectRepository, never()).delete(TEST_ID);
+    }
+
+    @Test(expected = ProjectNotFoundException.class)
+    public void whenInvalidProjectId_thenDeleteProjectThrowsProjectNotFoundException()
     {
-        doNothing().when(projectRepository).delete(TEST_ID);
+        when(projectRepository.deleteByProjectId(TEST_ID)).thenReturn(0);
 
         projectService.deleteProject(TEST_ID);
     }
@@ -0,0 +1,109 @@
+package com.szczwany.calculator.project;
+
+import com.szczwany.calculator.calculation.model.Calculation;
+import com.szczwany.calculator.helpers.CalculationFactory;
+import com.szczwany.calculator.helpers.ProjectFactory;
+import com.szczwany.calculator.project.model.Project;
+import com.szczwany.calculator.project.repository.IProjectRepository;
+import com.szczwany.calculator.project.repository.ProjectVersionRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Collections;
+
+import static com.szczwany.calculator.utils.Globals.TEST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertNull;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+public class ProjectVersionRepositoryTests
+{
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IProjectRepository projectRepository;
+
+    private ProjectVersionRepository projectVersionRepository;
+
+    @Before
+    public void setUp()
+    {
+        projectVersionRepository = new ProjectVersionRepository(jdbcTemplate);
+    }
+
+    @Test
+    public void whenProjectCreated_thenHasVersion()
+    {
+        Project project = entityManager.persistAndFlush(ProjectFactory.createProject());
+
+        assertThat(projectVersionRepository.findVersion(project.getId())).isNotNull();
+    }
+
+    @Test
+    public void whenFindVersionOfMissingProject_thenReturnNull()
+    {
+        assertNull(projectVersionRepository.findVersion(TEST_ID));
+    }
+
+    @Test
+    public void whenLockProject_thenItCanStillBeTouchedInTheSameTransaction()
+    {
+        Project project = entityManager.persistAndFlush(ProjectFactory.createProject());
+        Long version = projectVersionRepository.findVersion(project.getId());
+
+        projectVersionRepository.lock(project.getId());
+        projectVersionRepository.lock(TEST_ID);
+        projectVersionRepository.touch(project.getId());
+
+        assertThat(projectVersionRepository.findVersion(project.getId())).isGreaterThan(version);
+    }
+
+    @Test
+    public void whenTouch_thenVersionGrows()
+    {
+        Project project = entityManager.persistAndFlush(ProjectFactory.createProject());
+        Long version = projectVersionRepository.findVersion(project.getId());
+
+        projectVersionRepository.touch(project.getId());
+
+        assertThat(projectVersionRepository.findVersion(project.getId())).isGreaterThan(version);
+    }
+
+    @Test
+    public void whenTouchByCalculationIds_thenOnlyTheirProjectsChange()
+    {
+        Project project = entityManager.persist(ProjectFactory.createProject());
+        Project otherProject = entityManager.persist(ProjectFactory.createProject());
+        Calculation calculation = entityManager.persist(CalculationFactory.createCalculationWithProject(project));
+        entityManager.flush();
+        Long version = projectVersionRepository.findVersion(project.getId());
+        Long otherVersion = projectVersionRepository.findVersion(otherProject.getId());
+
+        projectVersionRepository.touchByCalculationIds(Collections.singletonList(calculation.getId()));
+
+        assertThat(projectVersionRepository.findVersion(project.getId())).isGreaterThan(version);
+        assertThat(projectVersionRepository.findVersion(otherProject.getId())).isEqualTo(otherVersion);
+    }
+
+    @Test
+    public void whenProjectDeleted_thenVersionOfAllChanges()
+    {
+        Project project = entityManager.persistAndFlush(ProjectFactory.createProject());
+        String version = projectVersionRepository.findVersionOfAll();
+
+        projectRepository.deleteByProjectId(project.getId());
+
+        assertThat(projectVersionRepository.findVersionOfAll()).isNotEqualTo(version);
+    }
+}